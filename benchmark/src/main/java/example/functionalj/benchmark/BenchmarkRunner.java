@@ -0,0 +1,23 @@
+package example.functionalj.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always on so the allocation rate is reported next to the timing.
+ * 
+ * All the usual JMH command-line options work -- for example, `java -jar benchmarks.jar Trapezoidal -f 1`.
+ **/
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws Exception {
+        var options = new OptionsBuilder()
+                .parent     (new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+    
+}
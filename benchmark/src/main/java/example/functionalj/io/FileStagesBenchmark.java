@@ -0,0 +1,106 @@
+package example.functionalj.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.pipeable.PipeLine;
+
+/**
+ * Counting the non-blank lines of a large file -- loaded whole versus streamed.
+ * 
+ * The GC profiler shows the difference: the loaded form allocates about twice the file size per operation while the
+ *   streamed forms allocate only the lines (or nothing per chunk) and run in a heap far smaller than the file.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileStagesBenchmark {
+    
+    @Param({ "1", "64" })
+    int fileSizeMB;
+    
+    Path path;
+    
+    final Function<String, Long> loaded = PipeLine
+            .of  (String.class)
+            .then(Paths ::get)
+            .then(Files ::readAllBytes)
+            .then(String::new)
+            .then(text -> text.lines().filter(line -> !line.isBlank()).count())
+            .thenReturn();
+    
+    final Function<String, Long> streamedLines = PipeLine
+            .of  (String.class)
+            .then(Paths ::get)
+            .then(FileStages.lines(lines -> lines.filter(line -> !line.isBlank()).count()))
+            .thenReturn();
+    
+    final Function<String, Long> streamedChunks = PipeLine
+            .of  (String.class)
+            .then(Paths ::get)
+            .then(FileStages.chunks(chunks -> chunks.mapToLong(FileStagesBenchmark::countNewLines).sum()))
+            .thenReturn();
+    
+    static long countNewLines(ByteBuffer chunk) {
+        var count = 0L;
+        for (int i = chunk.position(); i < chunk.limit(); i++) {
+            if (chunk.get(i) == '\n')
+                count++;
+        }
+        return count;
+    }
+    
+    @Setup
+    public void setup() throws IOException {
+        path = Files.createTempFile("file-stages-", ".txt");
+        var line  = "The quick brown fox jumps over the lazy dog.\n";
+        var lines = (int)((fileSizeMB * 1024L * 1024L) / line.length());
+        try (var writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(line);
+            }
+        }
+    }
+    
+    @TearDown
+    public void teardown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+    
+    @Benchmark
+    public Long loaded() {
+        return loaded.apply(path.toString());
+    }
+    
+    @Benchmark
+    public Long streamedLines() {
+        return streamedLines.apply(path.toString());
+    }
+    
+    @Benchmark
+    public Long streamedChunks() {
+        return streamedChunks.apply(path.toString());
+    }
+    
+}
@@ -0,0 +1,62 @@
+package example.functionalj.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.list.FuncList;
+import functionalj.list.ImmutableFuncList;
+
+/**
+ * Appending one element at a time -- {@code list.append(i).toImmutableList()} versus {@link PersistentVector}.
+ * 
+ * The FuncList form copies the list on every append so it is quadratic and only runs up to 10,000 elements; the
+ *   vector runs up to the full million.
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListAppendBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Quadratic {
+        @Param({ "1000", "10000" })
+        int funcListCount;
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Linear {
+        @Param({ "1000", "10000", "1000000" })
+        int vectorCount;
+    }
+    
+    @Benchmark
+    public ImmutableFuncList<Integer> funcList(Quadratic state) {
+        ImmutableFuncList<Integer> list = FuncList.<Integer>empty().toImmutableList();
+        for (int i = 0; i < state.funcListCount; i++) {
+            list = list.append(i).toImmutableList();
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public PersistentVector<Integer> persistentVector(Linear state) {
+        var vector = PersistentVector.<Integer>empty();
+        for (int i = 0; i < state.vectorCount; i++) {
+            vector = vector.append(i);
+        }
+        return vector;
+    }
+    
+}
@@ -0,0 +1,75 @@
+package example.functionalj.map;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.map.FuncMap;
+
+/**
+ * The memory taken by a map of primitive keys or values -- boxed FuncMap versus the primitive maps.
+ * 
+ * Each benchmark builds the whole map so {@code gc.alloc.rate.norm} from the GC profiler is the bytes to build it;
+ *   for the primitive maps that is the footprint itself as the builder hands its table over. The values of the
+ *   int-keyed maps are one shared string so only the map structure is counted.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapFootprintBenchmark {
+    
+    @Param({ "1000", "1000000" })
+    int size;
+    
+    final String value = "Value";
+    
+    @Benchmark
+    public FuncMap<Integer, String> intKeyFuncMap() {
+        var map = new HashMap<Integer, String>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, value);
+        }
+        return FuncMap.from(map);
+    }
+    
+    @Benchmark
+    public IntFuncMap<String> intFuncMap() {
+        var builder = IntFuncMap.<String>newBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.with(i, value);
+        }
+        return builder.build();
+    }
+    
+    @Benchmark
+    public FuncMap<Integer, Double> doubleValueFuncMap() {
+        var map = new HashMap<Integer, Double>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, i * 0.5);
+        }
+        return FuncMap.from(map);
+    }
+    
+    @Benchmark
+    public ObjectDoubleFuncMap<Integer> objectDoubleFuncMap() {
+        var builder = ObjectDoubleFuncMap.<Integer>newBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.with(i, i * 0.5);
+        }
+        return builder.build();
+    }
+    
+}
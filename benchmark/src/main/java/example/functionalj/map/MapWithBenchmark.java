@@ -0,0 +1,81 @@
+package example.functionalj.map;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.map.FuncMap;
+
+/**
+ * Changing one entry of a big map -- {@link FuncMap#with} versus {@link PersistentHashMap}.
+ * 
+ * Each change is read back so a lazily applied change is paid for too. {@code update} is the shape of a lens update:
+ *   read the entry, change it, put it back.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapWithBenchmark {
+    
+    @Param({ "1000", "1000000" })
+    int size;
+    
+    FuncMap<Integer, String>           funcMap;
+    PersistentHashMap<Integer, String> persistentMap;
+    
+    int key;
+    
+    @Setup
+    public void setup() {
+        var map = new HashMap<Integer, String>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, "Value" + i);
+        }
+        funcMap       = FuncMap.from(map);
+        persistentMap = PersistentHashMap.from(map);
+    }
+    
+    int nextKey() {
+        key = (key + 7919) % size;
+        return key;
+    }
+    
+    @Benchmark
+    public String funcMapWith() {
+        var k = nextKey();
+        return funcMap.with(k, "Changed").get(k);
+    }
+    
+    @Benchmark
+    public String persistentMapWith() {
+        var k = nextKey();
+        return persistentMap.with(k, "Changed").get(k);
+    }
+    
+    @Benchmark
+    public String funcMapUpdate() {
+        var k = nextKey();
+        return funcMap.with(k, funcMap.get(k).toUpperCase()).get(k);
+    }
+    
+    @Benchmark
+    public String persistentMapUpdate() {
+        var k = nextKey();
+        return persistentMap.update(k, String::toUpperCase).get(k);
+    }
+    
+}
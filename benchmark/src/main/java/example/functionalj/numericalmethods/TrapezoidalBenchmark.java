@@ -0,0 +1,51 @@
+package example.functionalj.numericalmethods;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.pow;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import example.functionalj.numericalmethods.Trapezoidal.Func;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrapezoidalBenchmark {
+    
+    @Param({ "200", "100000" })
+    int segmentCount;
+    
+    final Func   function = (x) -> 3 + 2 * pow(x, 2) - pow(x, 3) + pow(2, x) - exp(-x);
+    final double startX   = -1.0;
+    final double stopX    =  3.0;
+    
+    @Benchmark
+    public double funcList() {
+        return Trapezoidal.area(function, startX, stopX, segmentCount);
+    }
+    
+    @Benchmark
+    public double primitive() {
+        return PrimitiveTrapezoidal.area(function, startX, stopX, segmentCount);
+    }
+    
+    @Benchmark
+    public double parallel() {
+        return ParallelTrapezoidal.area(function, startX, stopX, segmentCount);
+    }
+    
+}
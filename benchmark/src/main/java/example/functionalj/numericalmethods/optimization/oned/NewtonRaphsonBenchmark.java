@@ -0,0 +1,130 @@
+package example.functionalj.numericalmethods.optimization.oned;
+
+import static functionalj.function.Apply.$;
+import static functionalj.function.Func.f;
+import static functionalj.list.FuncList.iterate;
+import static java.lang.Math.abs;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The same root-finding as {@link NewtonRaphsonMethod} -- in its FuncList form and as plain primitive loops. **/
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewtonRaphsonBenchmark {
+    
+    final double x0           = 2.0;
+    final double epsilon      = 1e-10;
+    final int    maxLoop      = 1000;
+    final double learningRate = 0.05;
+    
+    final DifferentiableFunc function
+            = ((DoubleFunc)(x -> 1*x*x*x - 1*x*x - 1))
+            .withDiff      (x -> 3*x*x   - 2*x   + 0);
+    
+    @Benchmark
+    public Object newtonFuncList() {
+        var newtonUpdate = f((Iteration it) -> it.x - it.fx / it.dfx);
+        return iterate    ($(function, x0), $(function, newtonUpdate))
+                .dropAfter(it -> abs(it.fx) < epsilon)
+                .limit    (maxLoop)
+                .toList()
+                .lastResult();
+    }
+    
+    @Benchmark
+    public Object gradientFuncList() {
+        var gradientUpdate = f((Iteration it) -> it.x - learningRate*it.fx);
+        return iterate    ($(function, x0), $(function, gradientUpdate))
+                .takeUntil(it -> abs(it.fx) < epsilon)
+                .limit    (maxLoop)
+                .toList()
+                .lastResult();
+    }
+    
+    final PrimitiveRootFinder newtonFinder = new PrimitiveRootFinder(
+            x -> 1*x*x*x - 1*x*x - 1,
+            x -> 3*x*x   - 2*x   + 0,
+            PrimitiveRootFinder.newton(),
+            PrimitiveRootFinder.Termination.DROP_AFTER,
+            epsilon, maxLoop);
+    
+    @Benchmark
+    public double newtonRootFinder() {
+        newtonFinder.solve(x0);
+        return newtonFinder.x();
+    }
+    
+    /** The parameters of x^3 - x^2 - p solved at once by {@link #newtonBatch()} and one by one by {@link #newtonLanes()}. **/
+    final double[] parameters     = new Random(42).doubles(100_000, 0.5, 10.5).toArray();
+    final double[] initialGuesses = new Random(7) .doubles(100_000, 1.0,  6.0).toArray();
+    final double[] roots          = new double[parameters.length];
+    final int[]    iterations     = new int   [parameters.length];
+    
+    final BatchRootFinder batchFinder = new BatchRootFinder(
+            (x, p) -> 1*x*x*x - 1*x*x - p,
+            (x, p) -> 3*x*x   - 2*x   + 0,
+            epsilon, maxLoop);
+    
+    @Benchmark
+    public double[] newtonBatch() {
+        batchFinder.solve(parameters, initialGuesses, roots, iterations);
+        return roots;
+    }
+    
+    @Benchmark
+    public double[] newtonLanes() {
+        for (int lane = 0; lane < parameters.length; lane++) {
+            var p = parameters[lane];
+            var x = initialGuesses[lane];
+            for (int i = 1; i < maxLoop; i++) {
+                var fx = x*x*x - x*x - p;
+                if (abs(fx) < epsilon)
+                    break;
+                x = x - fx / (3*x*x - 2*x);
+            }
+            roots[lane] = x;
+        }
+        return roots;
+    }
+    
+    @Benchmark
+    public double newtonPrimitive() {
+        var x = x0;
+        for (int i = 0; i < maxLoop; i++) {
+            var fx  = x*x*x - x*x - 1;
+            var dfx = 3*x*x - 2*x;
+            if (abs(fx) < epsilon)
+                break;
+            x = x - fx / dfx;
+        }
+        return x;
+    }
+    
+    @Benchmark
+    public double gradientPrimitive() {
+        var x = x0;
+        for (int i = 0; i < maxLoop; i++) {
+            var fx = x*x*x - x*x - 1;
+            if (abs(fx) < epsilon)
+                break;
+            x = x - learningRate*fx;
+        }
+        return x;
+    }
+    
+}
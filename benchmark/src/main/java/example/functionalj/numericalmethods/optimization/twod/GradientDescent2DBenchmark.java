@@ -0,0 +1,68 @@
+package example.functionalj.numericalmethods.optimization.twod;
+
+import static java.lang.Math.abs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The iterations of {@link GradientDescent2D#main} without the chart -- in its FuncList form and as a primitive loop. **/
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradientDescent2DBenchmark {
+    
+    final double x0       = -1.0;
+    final double y0       =  1.0;
+    final double stepSize = 0.2;
+    final double epsilon  = 1.0e-10;
+    final int    maxLoop  = 100;
+    final double delta    = 1.0e-10;
+    
+    final DiffertiableFunction function
+            = GradientDescent2D.differtiableFunction((x, y) -> 2*x*y + 2*x - x*x - 2*y*y, delta);
+    
+    @Benchmark
+    public Object funcList() {
+        return GradientDescent2D
+                .iterations(function, x0, y0, stepSize, epsilon, maxLoop)
+                .lastResult();
+    }
+    
+    @Benchmark
+    public double primitive() {
+        var x   = x0;
+        var y   = y0;
+        var fxy = objective(x, y);
+        for (int i = 1; i < maxLoop; i++) {
+            // Same forward differences as GradientDescent2D.differtiableFunction.
+            var dfx = (objective(x + delta, y) - fxy) / delta;
+            var dfy = (objective(x, y + delta) - fxy) / delta;
+            x += stepSize*dfx;
+            y += stepSize*dfy;
+            
+            var newFxy = objective(x, y);
+            var change = abs(fxy - newFxy);
+            fxy = newFxy;
+            if (change < epsilon)
+                break;
+        }
+        return fxy;
+    }
+    
+    private static double objective(double x, double y) {
+        return 2*x*y + 2*x - x*x - 2*y*y;
+    }
+    
+}
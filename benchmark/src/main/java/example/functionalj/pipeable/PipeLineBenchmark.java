@@ -0,0 +1,69 @@
+package example.functionalj.pipeable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.pipeable.PipeLine;
+
+/**
+ * The per-stage cost of a pipeline -- staged {@link PipeLine} versus the same pipeline fused by
+ *   {@link FusedPipeLine#fuse(PipeLine)} versus a plain lambda.
+ * 
+ * The stages are cheap on purpose so the dispatch and the exception handling are what is measured. The
+ *   {@code "oops"} input fails in the last stage to measure the suppressed-error path too.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipeLineBenchmark {
+    
+    @Param({ " 42 ", "oops" })
+    String input;
+    
+    final PipeLine<String, Integer> staged = PipeLine
+            .of  (String.class)
+            .then(String ::trim)
+            .then(String ::toUpperCase)
+            .then(Integer::parseInt)
+            .thenReturn();
+    
+    final Function<String, Integer> fused = FusedPipeLine.fuse(staged);
+    
+    final Function<String, Integer> direct = str -> {
+        try {
+            return Integer.parseInt(str.trim().toUpperCase());
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    };
+    
+    @Benchmark
+    public Integer staged() {
+        return staged.apply(input);
+    }
+    
+    @Benchmark
+    public Integer fused() {
+        return fused.apply(input);
+    }
+    
+    @Benchmark
+    public Integer direct() {
+        return direct.apply(input);
+    }
+    
+}
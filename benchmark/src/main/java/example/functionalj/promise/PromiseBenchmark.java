@@ -0,0 +1,128 @@
+package example.functionalj.promise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.list.FuncList;
+import functionalj.promise.DeferAction;
+import functionalj.promise.Promise;
+import functionalj.result.Result;
+
+/**
+ * The cost of the promise machinery itself -- the loads do no work.
+ * 
+ * {@code create} is one pending action created, subscribed and completed on the same thread, {@code dispatch} is the
+ *   latency from completing on one thread to the callback running, {@code chain} is a map chain of the given depth
+ *   and {@code fanIn} is the given number of concurrent loads combined by {@link PromiseFanIn}. {@code fanOut} is the
+ *   same with thousands of loads -- to see how the per-load cost (its promise, its task and settling it) scales.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromiseBenchmark {
+    
+    @Param({ "10", "1000" })
+    int count;
+    
+    ExecutorService             executor;
+    ScheduledExecutorService    timer;
+    FuncList<Callable<Integer>> loads;
+    
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        timer    = Executors.newSingleThreadScheduledExecutor();
+        loads    = FuncList.iterate(0, i -> i + 1).limit(count).map(i -> (Callable<Integer>)() -> i).toImmutableList();
+    }
+    
+    @TearDown
+    public void teardown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+    
+    @Benchmark
+    public Object create() {
+        var result  = new Object[1];
+        var pending = DeferAction.<Integer>createNew().start();
+        pending.getPromise().onComplete(r -> result[0] = r);
+        pending.complete(42);
+        return result[0];
+    }
+    
+    @Benchmark
+    public Object dispatch() throws InterruptedException {
+        var result  = new Object[1];
+        var latch   = new CountDownLatch(1);
+        var pending = DeferAction.<Integer>createNew().start();
+        pending.getPromise().onComplete(r -> {
+            result[0] = r;
+            latch.countDown();
+        });
+        executor.execute(() -> pending.complete(42));
+        latch.await();
+        return result[0];
+    }
+    
+    @Benchmark
+    public Result<Integer> chain() {
+        var pending = DeferAction.<Integer>createNew().start();
+        Promise<Integer> promise = pending.getPromise();
+        for (int i = 0; i < count; i++) {
+            promise = promise.map(value -> value + 1);
+        }
+        pending.complete(0);
+        return promise.getResult();
+    }
+    
+    @State(Scope.Benchmark)
+    public static class FanOut {
+        
+        @Param({ "1000", "5000", "10000" })
+        int loadCount;
+        
+        FuncList<Callable<Integer>> loads;
+        
+        @Setup
+        public void setup() {
+            loads = FuncList.iterate(0, i -> i + 1).limit(loadCount).map(i -> (Callable<Integer>)() -> i).toImmutableList();
+        }
+    }
+    
+    @Benchmark
+    public Result<FuncList<Integer>> fanIn() {
+        return PromiseFanIn
+                .loadAll(loads, executor, timer, 1, TimeUnit.MINUTES)
+                .getPromise()
+                .getResult();
+    }
+    
+    @Benchmark
+    public Result<FuncList<Integer>> fanOut(FanOut fanOut) {
+        return PromiseFanIn
+                .loadAll(fanOut.loads, executor, timer, 1, TimeUnit.MINUTES)
+                .getPromise()
+                .getResult();
+    }
+    
+}
@@ -0,0 +1,60 @@
+package example.functionalj.store;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.function.Func1;
+import functionalj.store.Store;
+
+/**
+ * Eight writers changing one store -- one change at a time versus compare-and-set versus batched.
+ * 
+ * The batching store has a subscriber counting its notifications so the cost of notifying is included.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class StoreBenchmark {
+    
+    final Func1<Integer, Integer> increment = value -> value + 1;
+    
+    final Store<Integer>         store         = new Store<>(0);
+    final BatchingStore<Integer> batchingStore = new BatchingStore<>(0);
+    
+    final LongAdder notifications = new LongAdder();
+    
+    {
+        batchingStore.subscribe(value -> notifications.increment());
+    }
+    
+    @Benchmark
+    public Object store() {
+        return store.change(increment);
+    }
+    
+    @Benchmark
+    public Integer casChange() {
+        return batchingStore.change(increment);
+    }
+    
+    @Benchmark
+    public Object batchedEnqueue() {
+        return batchingStore.enqueue(increment);
+    }
+    
+}
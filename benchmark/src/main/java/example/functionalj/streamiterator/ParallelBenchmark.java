@@ -0,0 +1,87 @@
+package example.functionalj.streamiterator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.list.FuncList;
+import functionalj.list.ImmutableFuncList;
+
+/**
+ * Scaling of a filter/map/sum pipeline with the pool size -- {@code parallelism = 0} is the sequential FuncList.
+ * 
+ * The lists hold boxed integers so 10 million is about as far as a default heap goes; the spliterator itself does
+ *   not care about the size.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelBenchmark {
+    
+    @Param({ "1000000", "10000000" })
+    int size;
+    
+    @Param({ "0", "1", "2", "4", "8" })
+    int parallelism;
+    
+    ImmutableFuncList<Integer> numbers;
+    ForkJoinPool               pool;
+    
+    @Setup
+    public void setup() {
+        numbers = FuncList.iterate(0, i -> i + 1).limit(size).toImmutableList();
+        pool    = (parallelism == 0) ? null : new ForkJoinPool(parallelism);
+    }
+    
+    @TearDown
+    public void teardown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+    
+    @Benchmark
+    public long filterMapSum() {
+        if (pool == null) {
+            return numbers
+                    .filter   (i -> i % 3 == 0)
+                    .mapToLong(i -> (long)i * i)
+                    .sum();
+        }
+        return Parallel.in(pool, () -> 
+                Parallel.streamOf(numbers)
+                .filter   (i -> i % 3 == 0)
+                .mapToLong(i -> (long)i * i)
+                .sum());
+    }
+    
+    @Benchmark
+    public ImmutableFuncList<Integer> filterMapCollect() {
+        if (pool == null) {
+            return numbers
+                    .filter(i -> i % 3 == 0)
+                    .map   (i -> i * 2)
+                    .toImmutableList();
+        }
+        return Parallel.in(pool, () -> 
+                Parallel.streamOf(numbers)
+                .filter(i -> i % 3 == 0)
+                .map   (i -> i * 2)
+                .toImmutableList());
+    }
+    
+}
@@ -0,0 +1,115 @@
+package example.functionalj.structtype;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import functionalj.list.FuncList;
+
+/**
+ * Filter and aggregate personnel -- over the row objects versus over the columns.
+ * 
+ * The generated Personel struct only exists in the example tests so the rows here are a plain class with the same
+ *   shape and method references stand in for the lenses. The rows are shuffled after creation, as they would be after
+ *   a while in a real heap, so the row form pays for chasing each pointer.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ColumnarTableBenchmark {
+    
+    public static final class Row {
+        final int     id;
+        final double  salary;
+        final boolean isOnSite;
+        Row(int id, double salary, boolean isOnSite) {
+            this.id       = id;
+            this.salary   = salary;
+            this.isOnSite = isOnSite;
+        }
+        public int     id()       { return id; }
+        public double  salary()   { return salary; }
+        public boolean isOnSite() { return isOnSite; }
+    }
+    
+    static final ToIntFunction<Row>    id       = Row::id;
+    static final ToDoubleFunction<Row> salary   = Row::salary;
+    static final Predicate<Row>        isOnSite = Row::isOnSite;
+    
+    @Param({ "1000000", "50000000" })
+    int size;
+    
+    FuncList<Row>      rows;
+    ColumnarTable<Row> table;
+    
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var list   = new ArrayList<Row>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Row(i, 50_000 + random.nextInt(150_000), random.nextBoolean()));
+        }
+        Collections.shuffle(list, random);
+        rows  = FuncList.from(list);
+        table = ColumnarTable.of(list)
+                .intColumn    (id)
+                .doubleColumn (salary)
+                .booleanColumn(isOnSite)
+                .build();
+    }
+    
+    @Benchmark
+    public double rowsSumOfSalary() {
+        return rows
+                .filter     (isOnSite.negate())
+                .filter     (row -> row.salary() > 120_000.0)
+                .mapToDouble(salary)
+                .sum();
+    }
+    
+    @Benchmark
+    public double columnsSumOfSalary() {
+        return table
+                .select          ()
+                .whereNot        (isOnSite)
+                .whereGreaterThan(salary, 120_000.0)
+                .sum             (salary);
+    }
+    
+    @Benchmark
+    public int rowsCount() {
+        return rows
+                .filter(isOnSite.negate())
+                .filter(row -> row.salary() > 120_000.0)
+                .size();
+    }
+    
+    @Benchmark
+    public int columnsCount() {
+        return table
+                .select          ()
+                .whereNot        (isOnSite)
+                .whereGreaterThan(salary, 120_000.0)
+                .count           ();
+    }
+    
+}
@@ -0,0 +1,178 @@
+package example.functionalj.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import functionalj.function.Func1;
+import functionalj.stream.StreamPlus;
+
+/**
+ * Pipeline stages that stream a file instead of loading it.
+ * 
+ * Use them in place of {@code then(Files::readAllBytes)} -- the later stages get a lazy {@link StreamPlus} and only
+ *   the current line or chunk is on the heap however large the file is.
+ * The file is closed when the stream is exhausted or closed. Prefer the forms that take the next stage -- like
+ *   {@code lines(lines -> ...)} -- they own the stream and close the file however that stage ends (early or with an
+ *   exception).
+ **/
+public class FileStages {
+    
+    /** The default chunk size for {@link #chunks}. **/
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    
+    /** The lines of the file (UTF-8) read as they are consumed. **/
+    public static final Func1<Path, StreamPlus<String>> lines = FileStages::readLines;
+    
+    /** The chunks of the file with the default size. **/
+    public static final Func1<Path, StreamPlus<ByteBuffer>> chunks = chunks(DEFAULT_CHUNK_SIZE);
+    
+    /**
+     * The chunks of the file read into one direct buffer.
+     * 
+     * The same buffer is returned for every chunk (flipped and ready to read) so each chunk must be used before the
+     *   next one is taken -- map it to what is needed rather than collecting the buffers.
+     **/
+    public static Func1<Path, StreamPlus<ByteBuffer>> chunks(int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        
+        return path -> readChunks(path, chunkSize);
+    }
+    
+    /**
+     * The stage that gives the lines of the file (UTF-8) to the function and closes the file when it returns or throws.
+     * 
+     * The function must be done with the stream when it returns -- a lazy result would read a closed file.
+     **/
+    public static <R> Func1<Path, R> lines(Func1<? super StreamPlus<String>, ? extends R> function) {
+        return path -> {
+            try (var lines = readLines(path)) {
+                return function.applyUnsafe(lines);
+            }
+        };
+    }
+    
+    /** The stage that gives the chunks of the file with the default size to the function -- see {@link #chunks(int, Func1)}. **/
+    public static <R> Func1<Path, R> chunks(Func1<? super StreamPlus<ByteBuffer>, ? extends R> function) {
+        return chunks(DEFAULT_CHUNK_SIZE, function);
+    }
+    
+    /**
+     * The stage that gives the chunks of the file to the function and closes the file when it returns or throws.
+     * 
+     * The function must be done with the stream (and the shared buffer) when it returns.
+     **/
+    public static <R> Func1<Path, R> chunks(int chunkSize, Func1<? super StreamPlus<ByteBuffer>, ? extends R> function) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        
+        return path -> {
+            try (var chunks = readChunks(path, chunkSize)) {
+                return function.applyUnsafe(chunks);
+            }
+        };
+    }
+    
+    private static StreamPlus<String> readLines(Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+        var reader  = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+        return streamOf(new ClosingIterator<String>(reader::close) {
+            @Override
+            String read() throws IOException {
+                return reader.readLine();
+            }
+        });
+    }
+    
+    private static StreamPlus<ByteBuffer> readChunks(Path path, int chunkSize) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+        var buffer  = ByteBuffer.allocateDirect(chunkSize);
+        return streamOf(new ClosingIterator<ByteBuffer>(channel::close) {
+            @Override
+            ByteBuffer read() throws IOException {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) == -1)
+                        break;
+                }
+                buffer.flip();
+                return buffer.hasRemaining() ? buffer : null;
+            }
+        });
+    }
+    
+    private static <D> StreamPlus<D> streamOf(ClosingIterator<D> iterator) {
+        var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        var stream      = StreamSupport.stream(spliterator, false).onClose(iterator::close);
+        return StreamPlus.from(stream);
+    }
+    
+    private interface Closer {
+        void close() throws IOException;
+    }
+    
+    /** Iterator over what {@link #read()} returns until it returns null -- then the source is closed. **/
+    private static abstract class ClosingIterator<D> implements Iterator<D> {
+        
+        private final Closer closer;
+        
+        private D       next     = null;
+        private boolean isClosed = false;
+        
+        ClosingIterator(Closer closer) {
+            this.closer = closer;
+        }
+        
+        abstract D read() throws IOException;
+        
+        @Override
+        public boolean hasNext() {
+            if ((next == null) && !isClosed) {
+                try {
+                    next = read();
+                } catch (IOException exception) {
+                    close();
+                    throw new UncheckedIOException(exception);
+                }
+                if (next == null)
+                    close();
+            }
+            return next != null;
+        }
+        
+        @Override
+        public D next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            
+            var value = next;
+            next = null;
+            return value;
+        }
+        
+        void close() {
+            if (isClosed)
+                return;
+            
+            isClosed = true;
+            try {
+                closer.close();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,173 @@
+package example.functionalj.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import functionalj.result.Result;
+import functionalj.stream.StreamPlus;
+
+/**
+ * Words -- runs of {@code [a-zA-Z]+} -- scanned in place from a memory-mapped file.
+ * 
+ * Same words as {@code matches("[a-zA-Z]+")} on {@code new String(Files.readAllBytes(path))} but the file is never
+ *   copied onto the heap: it is mapped one window at a time and the bytes are read from the mapping. UTF-8 never
+ *   uses an ASCII byte inside a multi-byte character so the bytes can be tested one by one.
+ * The word count allocates nothing per word; the word stream allocates only the words.
+ **/
+public class MappedWords {
+    
+    /** The size of each mapping -- a mapping cannot be larger than 2GB. **/
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+    
+    /** The number of words in the file. **/
+    public static Result<Long> wordCount(Path path) {
+        return wordCount(path, DEFAULT_WINDOW_SIZE);
+    }
+    
+    /** The number of words in the file mapping {@code windowSize} bytes at a time. **/
+    public static Result<Long> wordCount(Path path, long windowSize) {
+        return Result.of(()->countWords(path, windowSize));
+    }
+    
+    /** The words in the file -- read lazily and the file is closed when the stream is exhausted or closed. **/
+    public static Result<StreamPlus<String>> words(Path path) {
+        return words(path, DEFAULT_WINDOW_SIZE);
+    }
+    
+    /** The words in the file mapping {@code windowSize} bytes at a time. **/
+    public static Result<StreamPlus<String>> words(Path path, long windowSize) {
+        return Result.of(()-> {
+            checkWindowSize(windowSize);
+            var iterator    = new WordIterator(FileChannel.open(path, StandardOpenOption.READ), windowSize);
+            var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+            var stream      = StreamSupport.stream(spliterator, false).onClose(iterator::close);
+            return StreamPlus.from(stream);
+        });
+    }
+    
+    static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+    }
+    
+    private static long countWords(Path path, long windowSize) throws IOException {
+        checkWindowSize(windowSize);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size   = channel.size();
+            var count  = 0L;
+            var inWord = false;
+            for (long position = 0; position < size; position += windowSize) {
+                var buffer = channel.map(MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+                var limit  = buffer.limit();
+                for (int i = 0; i < limit; i++) {
+                    // The state is carried across windows so a word split by a window boundary counts once.
+                    var isLetter = isLetter(buffer.get(i));
+                    if (isLetter && !inWord)
+                        count++;
+                    inWord = isLetter;
+                }
+            }
+            return count;
+        }
+    }
+    
+    private static void checkWindowSize(long windowSize) {
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("windowSize must be between 1 and " + Integer.MAX_VALUE + ": " + windowSize);
+    }
+    
+    private static class WordIterator implements Iterator<String> {
+        
+        private final FileChannel   channel;
+        private final long          size;
+        private final long          windowSize;
+        private final StringBuilder word = new StringBuilder();
+        
+        private MappedByteBuffer buffer   = null;
+        private long             position = 0;
+        private String           next     = null;
+        private boolean          isClosed = false;
+        
+        WordIterator(FileChannel channel, long windowSize) throws IOException {
+            this.channel    = channel;
+            this.size       = channel.size();
+            this.windowSize = windowSize;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (next == null)
+                next = readWord();
+            return next != null;
+        }
+        
+        @Override
+        public String next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            
+            var word = next;
+            next = null;
+            return word;
+        }
+        
+        private String readWord() {
+            try {
+                while (true) {
+                    if ((buffer == null) || !buffer.hasRemaining()) {
+                        if (position >= size) {
+                            close();
+                            return takeWord();
+                        }
+                        var length = Math.min(windowSize, size - position);
+                        buffer    = channel.map(MapMode.READ_ONLY, position, length);
+                        position += length;
+                    }
+                    while (buffer.hasRemaining()) {
+                        var b = buffer.get();
+                        if (isLetter(b)) {
+                            word.append((char)b);
+                        } else if (word.length() != 0) {
+                            return takeWord();
+                        }
+                    }
+                }
+            } catch (IOException exception) {
+                close();
+                throw new UncheckedIOException(exception);
+            }
+        }
+        
+        private String takeWord() {
+            if (word.length() == 0)
+                return null;
+            
+            var text = word.toString();
+            word.setLength(0);
+            return text;
+        }
+        
+        void close() {
+            if (isClosed)
+                return;
+            
+            isClosed = true;
+            buffer   = null;
+            try {
+                channel.close();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,122 @@
+package example.functionalj.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import functionalj.list.FuncList;
+
+/**
+ * A lazy list that is evaluated at most once.
+ * 
+ * The elements are pulled from the source only as far as they are asked for and kept -- a later traversal,
+ *   {@code get(i)} or {@code size()} reads what is kept instead of running the source pipeline again. So the filter
+ *   of a lazy FuncList with a random predicate is equal to itself once memoized, without eagerly calling
+ *   {@code toImmutableList()}.
+ * Pulling from the source is done under a lock so the source is never run twice; reading what is already kept takes
+ *   no lock.
+ * 
+ * This is a plain {@link java.util.List} next to FuncList -- not a third mode of FuncList itself, whose lazy and
+ *   eager modes are internal to the library. For the FuncList operations use {@link #toFuncList()}, which
+ *   evaluates the rest of the source first.
+ **/
+public final class MemoizedList<DATA> extends AbstractList<DATA> implements RandomAccess {
+    
+    private final Object lock = new Object();
+    
+    private Iterator<? extends DATA> source;
+    private volatile Object[]        elements = new Object[16];
+    private volatile int             count    = 0;
+    
+    private MemoizedList(Iterator<? extends DATA> source) {
+        this.source = source;
+    }
+    
+    /** Memoize the list -- nothing is evaluated yet. **/
+    public static <D> MemoizedList<D> of(Iterable<? extends D> lazyList) {
+        return new MemoizedList<D>(lazyList.iterator());
+    }
+    
+    /** How many elements have been evaluated so far. **/
+    public int evaluatedCount() {
+        return count;
+    }
+    
+    /** Whether the whole source has been evaluated. **/
+    public boolean isComplete() {
+        synchronized (lock) {
+            return source == null;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public DATA get(int index) {
+        if (index < 0)
+            throw new IndexOutOfBoundsException("Index: " + index);
+        
+        // The count is published after the element so an index below it is always readable.
+        if (index >= count && !evaluateTo(index + 1))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        
+        return (DATA)elements[index];
+    }
+    
+    @Override
+    public int size() {
+        evaluateTo(Integer.MAX_VALUE);
+        return count;
+    }
+    
+    @Override
+    public Iterator<DATA> iterator() {
+        return new Iterator<DATA>() {
+            private int index = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return (index < count) || evaluateTo(index + 1);
+            }
+            
+            @Override
+            public DATA next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                
+                return get(index++);
+            }
+        };
+    }
+    
+    /** The evaluated list as a FuncList -- evaluates the rest. **/
+    public FuncList<DATA> toFuncList() {
+        @SuppressWarnings("unchecked")
+        var array = (DATA[])toArray();
+        return FuncList.of(array);
+    }
+    
+    /** Evaluate until there are at least the given number of elements -- false if the source runs out first. **/
+    private boolean evaluateTo(int targetCount) {
+        synchronized (lock) {
+            while (count < targetCount) {
+                if ((source == null) || !source.hasNext()) {
+                    source = null;
+                    return false;
+                }
+                
+                var element = source.next();
+                var array   = elements;
+                if (count == array.length) {
+                    array    = Arrays.copyOf(array, array.length * 2);
+                    elements = array;
+                }
+                array[count] = element;
+                count++;
+            }
+            return true;
+        }
+    }
+    
+}
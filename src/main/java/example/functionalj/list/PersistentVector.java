@@ -0,0 +1,194 @@
+package example.functionalj.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import functionalj.list.FuncList;
+
+/**
+ * Immutable list as a 32-way trie -- appending and indexing cost a path of at most 7 nodes instead of a copy.
+ * 
+ * The elements live in leaves of 32 under a tree of 32-way branches; the last (up to) 32 elements are kept in a
+ *   separate tail so most appends copy only the tail. A new version copies just the path it changes and shares
+ *   everything else with the old one, so old versions stay valid and cheap to keep.
+ * It is a read-only {@link java.util.List} -- {@code add}/{@code set} throw like any FuncList -- and
+ *   {@link #toFuncList()} hands it over wherever a FuncList is expected.
+ **/
+public final class PersistentVector<DATA> extends AbstractList<DATA> implements RandomAccess {
+    
+    private static final int BITS  = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK  = WIDTH - 1;
+    
+    private static final Object[]                 EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<Object> EMPTY      = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+    
+    private final int      size;
+    private final int      shift;
+    private final Object[] root;
+    private final Object[] tail;
+    
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size  = size;
+        this.shift = shift;
+        this.root  = root;
+        this.tail  = tail;
+    }
+    
+    /** The empty vector. **/
+    @SuppressWarnings("unchecked")
+    public static <D> PersistentVector<D> empty() {
+        return (PersistentVector<D>)EMPTY;
+    }
+    
+    /** The vector of the elements. **/
+    @SafeVarargs
+    public static <D> PersistentVector<D> of(D ... elements) {
+        return from(Arrays.asList(elements));
+    }
+    
+    /** The vector of the elements. **/
+    public static <D> PersistentVector<D> from(Iterable<? extends D> elements) {
+        PersistentVector<D> vector = empty();
+        for (var element : elements) {
+            vector = vector.append(element);
+        }
+        return vector;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public DATA get(int index) {
+        return (DATA)leafOf(index)[index & MASK];
+    }
+    
+    /** The new vector with the element added at the end. **/
+    public PersistentVector<DATA> append(DATA element) {
+        if (size - tailOffset() < WIDTH) {
+            var newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        
+        // The tail is full -- push it into the tree as a leaf and start a new tail.
+        Object[] newRoot;
+        var newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // The tree is full too -- grow it one level.
+            newRoot    = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift  += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { element });
+    }
+    
+    /** The new vector with the element at the index replaced. **/
+    public PersistentVector<DATA> with(int index, DATA element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            var newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+    
+    /** This vector as a FuncList. **/
+    public FuncList<DATA> toFuncList() {
+        @SuppressWarnings("unchecked")
+        var elements = (DATA[])toArray();
+        return FuncList.of(elements);
+    }
+    
+    @Override
+    public Iterator<DATA> iterator() {
+        // Walk leaf by leaf rather than descending the tree for every element.
+        return new Iterator<DATA>() {
+            private int      index = 0;
+            private Object[] leaf  = null;
+            
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+            
+            @SuppressWarnings("unchecked")
+            @Override
+            public DATA next() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                
+                if ((index & MASK) == 0)
+                    leaf = leafOf(index);
+                return (DATA)leaf[index++ & MASK];
+            }
+        };
+    }
+    
+    private int tailOffset() {
+        return (size < WIDTH) ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    
+    private Object[] leafOf(int index) {
+        checkIndex(index);
+        if (index >= tailOffset())
+            return tail;
+        
+        var node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[])node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+    
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        var subIndex = ((size - 1) >>> level) & MASK;
+        var newNode  = parent.clone();
+        if (level == BITS) {
+            newNode[subIndex] = tailNode;
+        } else {
+            var child = (Object[])parent[subIndex];
+            newNode[subIndex] = (child != null)
+                              ? pushTail(level - BITS, child, tailNode)
+                              : newPath(level - BITS, tailNode);
+        }
+        return newNode;
+    }
+    
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0)
+            return node;
+        
+        var path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+    
+    private static Object[] replace(int level, Object[] node, int index, Object element) {
+        var newNode = node.clone();
+        if (level == 0) {
+            newNode[index & MASK] = element;
+        } else {
+            var subIndex = (index >>> level) & MASK;
+            newNode[subIndex] = replace(level - BITS, (Object[])node[subIndex], index, element);
+        }
+        return newNode;
+    }
+    
+}
@@ -0,0 +1,279 @@
+package example.functionalj.map;
+
+import static example.functionalj.map.OpenAddressing.capacityFor;
+import static example.functionalj.map.OpenAddressing.insertSlot;
+import static example.functionalj.map.OpenAddressing.mix;
+import static example.functionalj.map.OpenAddressing.remapSlots;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable map from primitive int keys -- no boxed Integer per entry.
+ * 
+ * The keys and the values are two parallel arrays probed with open addressing. Changing an immutable table means
+ *   copying it so {@link #with(int, Object)} is for the odd change -- build big maps with {@link #newBuilder()}.
+ * Iteration is in table order until {@link #sortedByKey()} -- a sorted map stays sorted through
+ *   {@link #with(int, Object)} by inserting the new key into its order. Equality is by the entries, whatever the
+ *   order. Null values are not allowed; {@link #get(int)} returns null for a missing key.
+ **/
+public final class IntFuncMap<VALUE> {
+    
+    private static final IntFuncMap<Object> EMPTY = new IntFuncMap<>(new int[4], new Object[4], 0, null);
+    
+    private final int[]    keys;
+    private final Object[] values;
+    private final int      size;
+    private final int[]    order;
+    
+    private IntFuncMap(int[] keys, Object[] values, int size, int[] order) {
+        this.keys   = keys;
+        this.values = values;
+        this.size   = size;
+        this.order  = order;
+    }
+    
+    /** The empty map. **/
+    @SuppressWarnings("unchecked")
+    public static <V> IntFuncMap<V> empty() {
+        return (IntFuncMap<V>)EMPTY;
+    }
+    
+    /** A builder for a new map. **/
+    public static <V> Builder<V> newBuilder() {
+        return new Builder<V>(16);
+    }
+    
+    /** The number of entries. **/
+    public int size() {
+        return size;
+    }
+    
+    /** Whether the key is in the map. **/
+    public boolean containsKey(int key) {
+        return values[slotOf(keys, values, key)] != null;
+    }
+    
+    /** The value of the key or null if there is none. **/
+    @SuppressWarnings("unchecked")
+    public VALUE get(int key) {
+        return (VALUE)values[slotOf(keys, values, key)];
+    }
+    
+    /** The new map with the key mapped to the value. **/
+    public IntFuncMap<VALUE> with(int key, VALUE value) {
+        Objects.requireNonNull(value, "value");
+        var isNew    = !containsKey(key);
+        var capacity = isNew ? Math.max(keys.length, capacityFor(size + 1)) : keys.length;
+        
+        int[]    newKeys;
+        Object[] newValues;
+        var      newOrder = order;
+        if (capacity == keys.length) {
+            newKeys   = keys.clone();
+            newValues = values.clone();
+        } else {
+            newKeys   = new int[capacity];
+            newValues = new Object[capacity];
+            rehash(keys, values, newKeys, newValues);
+            if (order != null)
+                newOrder = remapSlots(order, oldSlot -> slotOf(newKeys, newValues, keys[oldSlot]));
+        }
+        var slot = slotOf(newKeys, newValues, key);
+        newKeys  [slot] = key;
+        newValues[slot] = value;
+        
+        // Only a new key changes the order -- it goes in by binary search instead of sorting again.
+        if ((newOrder != null) && isNew)
+            newOrder = insertSlot(newOrder, slot, other -> Integer.compare(key, newKeys[other]));
+        
+        var newSize = isNew ? size + 1 : size;
+        return new IntFuncMap<>(newKeys, newValues, newSize, newOrder);
+    }
+    
+    /**
+     * The new map with the value of the key changed by the function -- a lens change such as
+     *   {@code thePersonel.lastName.changeTo("Skywalker")} can be used directly.
+     **/
+    public IntFuncMap<VALUE> update(int key, Function<? super VALUE, ? extends VALUE> change) {
+        var value = get(key);
+        return (value == null) ? this : with(key, change.apply(value));
+    }
+    
+    /** The map with each value mapped -- the keys and their table are shared. **/
+    public <TARGET> IntFuncMap<TARGET> mapValue(Function<? super VALUE, ? extends TARGET> mapper) {
+        var newValues = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            @SuppressWarnings("unchecked")
+            var value = (VALUE)values[i];
+            if (value != null)
+                newValues[i] = Objects.requireNonNull(mapper.apply(value), "mapped value");
+        }
+        return new IntFuncMap<>(keys, newValues, size, order);
+    }
+    
+    /** The same map iterated in the order of the keys. **/
+    public IntFuncMap<VALUE> sortedByKey() {
+        return (order != null) ? this : new IntFuncMap<>(keys, values, size, sortedOrder(keys, values, size));
+    }
+    
+    /** The keys in iteration order. **/
+    public int[] keys() {
+        var result = new int[size];
+        var index  = 0;
+        for (int i = 0; i < slotCount(); i++) {
+            var slot = slotAt(i);
+            if (values[slot] != null)
+                result[index++] = keys[slot];
+        }
+        return result;
+    }
+    
+    @FunctionalInterface
+    public interface IntObjConsumer<V> {
+        void accept(int key, V value);
+    }
+    
+    /** Call the consumer with each entry in iteration order. **/
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super VALUE> consumer) {
+        for (int i = 0; i < slotCount(); i++) {
+            var slot = slotAt(i);
+            if (values[slot] != null)
+                consumer.accept(keys[slot], (VALUE)values[slot]);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof IntFuncMap))
+            return false;
+        
+        var other = (IntFuncMap<?>)obj;
+        if (other.size != size)
+            return false;
+        
+        for (int slot = 0; slot < keys.length; slot++) {
+            if ((values[slot] != null) && !values[slot].equals(other.get(keys[slot])))
+                return false;
+        }
+        return true;
+    }
+    
+    /** The sum of the hash codes of the entries as {@link java.util.Map#hashCode()} -- so it is the same in any order. **/
+    @Override
+    public int hashCode() {
+        var hashCode = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null)
+                hashCode += Integer.hashCode(keys[slot]) ^ values[slot].hashCode();
+        }
+        return hashCode;
+    }
+    
+    @Override
+    public String toString() {
+        var buffer = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (buffer.length() != 1)
+                buffer.append(", ");
+            buffer.append(key).append(":").append(value);
+        });
+        return buffer.append("}").toString();
+    }
+    
+    private int slotCount() {
+        return (order != null) ? order.length : keys.length;
+    }
+    
+    private int slotAt(int index) {
+        return (order != null) ? order[index] : index;
+    }
+    
+    private static int slotOf(int[] keys, Object[] values, int key) {
+        var mask = keys.length - 1;
+        var slot = mix(key) & mask;
+        while ((values[slot] != null) && (keys[slot] != key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private static void rehash(int[] keys, Object[] values, int[] newKeys, Object[] newValues) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                var slot = slotOf(newKeys, newValues, keys[i]);
+                newKeys  [slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+    }
+    
+    private static int[] sortedOrder(int[] keys, Object[] values, int size) {
+        // Sort (key, slot) pairs packed into longs so no comparator or boxing is needed.
+        var pairs = new long[size];
+        var index = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null)
+                pairs[index++] = ((long)keys[i] << 32) | i;
+        }
+        Arrays.sort(pairs);
+        var order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int)pairs[i];
+        }
+        return order;
+    }
+    
+    /** Mutable builder -- {@link #build()} hands its table over to the map so it can only be built once. **/
+    public static final class Builder<VALUE> {
+        
+        private int[]    keys;
+        private Object[] values;
+        private int      size = 0;
+        
+        private Builder(int expectedSize) {
+            var capacity = capacityFor(expectedSize);
+            this.keys   = new int[capacity];
+            this.values = new Object[capacity];
+        }
+        
+        /** Add or replace the entry. **/
+        public Builder<VALUE> with(int key, VALUE value) {
+            Objects.requireNonNull(value, "value");
+            if (keys == null)
+                throw new IllegalStateException("Already built.");
+            
+            var slot = slotOf(keys, values, key);
+            if (values[slot] == null) {
+                if (capacityFor(size + 1) > keys.length) {
+                    var newKeys   = new int[capacityFor(size + 1)];
+                    var newValues = new Object[newKeys.length];
+                    rehash(keys, values, newKeys, newValues);
+                    keys   = newKeys;
+                    values = newValues;
+                    slot   = slotOf(keys, values, key);
+                }
+                size++;
+            }
+            keys  [slot] = key;
+            values[slot] = value;
+            return this;
+        }
+        
+        /** The map. **/
+        public IntFuncMap<VALUE> build() {
+            if (keys == null)
+                throw new IllegalStateException("Already built.");
+            
+            var map = new IntFuncMap<VALUE>(keys, values, size, null);
+            keys   = null;
+            values = null;
+            return map;
+        }
+    }
+    
+}
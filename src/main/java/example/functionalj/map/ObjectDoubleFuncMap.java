@@ -0,0 +1,265 @@
+package example.functionalj.map;
+
+import static example.functionalj.map.OpenAddressing.capacityFor;
+import static example.functionalj.map.OpenAddressing.insertSlot;
+import static example.functionalj.map.OpenAddressing.mix;
+import static example.functionalj.map.OpenAddressing.remapSlots;
+import static example.functionalj.map.OpenAddressing.sortSlots;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Immutable map to primitive double values -- no boxed Double per entry.
+ * 
+ * The keys and the values are two parallel arrays probed with open addressing. Changing an immutable table means
+ *   copying it so {@link #with(Object, double)} is for the odd change -- build big maps with {@link #newBuilder()}.
+ * Iteration is in table order until {@link #sortedByKey(Comparator)} -- a sorted map stays sorted through
+ *   {@link #with(Object, double)} by inserting the new key into its order. Equality is by the entries, whatever the
+ *   order. Null keys are not allowed.
+ **/
+public final class ObjectDoubleFuncMap<KEY> {
+    
+    private static final ObjectDoubleFuncMap<Object> EMPTY = new ObjectDoubleFuncMap<>(new Object[4], new double[4], 0, null, null);
+    
+    private final Object[]                keys;
+    private final double[]                values;
+    private final int                     size;
+    private final int[]                   order;
+    private final Comparator<? super KEY> comparator;
+    
+    private ObjectDoubleFuncMap(Object[] keys, double[] values, int size, int[] order, Comparator<? super KEY> comparator) {
+        this.keys       = keys;
+        this.values     = values;
+        this.size       = size;
+        this.order      = order;
+        this.comparator = comparator;
+    }
+    
+    /** The empty map. **/
+    @SuppressWarnings("unchecked")
+    public static <K> ObjectDoubleFuncMap<K> empty() {
+        return (ObjectDoubleFuncMap<K>)EMPTY;
+    }
+    
+    /** A builder for a new map. **/
+    public static <K> Builder<K> newBuilder() {
+        return new Builder<K>(16);
+    }
+    
+    /** The number of entries. **/
+    public int size() {
+        return size;
+    }
+    
+    /** Whether the key is in the map. **/
+    public boolean containsKey(Object key) {
+        return (key != null) && (keys[slotOf(keys, key)] != null);
+    }
+    
+    /** The value of the key or the default value if there is none. **/
+    public double getOrDefault(Object key, double defaultValue) {
+        if (key == null)
+            return defaultValue;
+        
+        var slot = slotOf(keys, key);
+        return (keys[slot] != null) ? values[slot] : defaultValue;
+    }
+    
+    /** The new map with the key mapped to the value. **/
+    public ObjectDoubleFuncMap<KEY> with(KEY key, double value) {
+        Objects.requireNonNull(key, "key");
+        var isNew    = !containsKey(key);
+        var capacity = isNew ? Math.max(keys.length, capacityFor(size + 1)) : keys.length;
+        
+        Object[] newKeys;
+        double[] newValues;
+        var      newOrder = order;
+        if (capacity == keys.length) {
+            newKeys   = keys.clone();
+            newValues = values.clone();
+        } else {
+            newKeys   = new Object[capacity];
+            newValues = new double[capacity];
+            rehash(keys, values, newKeys, newValues);
+            if (order != null)
+                newOrder = remapSlots(order, oldSlot -> slotOf(newKeys, keys[oldSlot]));
+        }
+        var slot = slotOf(newKeys, key);
+        newKeys  [slot] = key;
+        newValues[slot] = value;
+        
+        // Only a new key changes the order -- it goes in by binary search instead of sorting again.
+        if ((newOrder != null) && isNew)
+            newOrder = insertSlot(newOrder, slot, other -> compareKeys(comparator, key, newKeys[other]));
+        
+        var newSize = isNew ? size + 1 : size;
+        return new ObjectDoubleFuncMap<KEY>(newKeys, newValues, newSize, newOrder, comparator);
+    }
+    
+    /** The new map with the value of the key changed by the function. **/
+    public ObjectDoubleFuncMap<KEY> update(KEY key, DoubleUnaryOperator change) {
+        return containsKey(key) ? with(key, change.applyAsDouble(getOrDefault(key, 0.0))) : this;
+    }
+    
+    /** The map with each value mapped -- the keys and their table are shared. **/
+    public ObjectDoubleFuncMap<KEY> mapValue(DoubleUnaryOperator mapper) {
+        var newValues = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (keys[i] != null)
+                newValues[i] = mapper.applyAsDouble(values[i]);
+        }
+        return new ObjectDoubleFuncMap<>(keys, newValues, size, order, comparator);
+    }
+    
+    /** The same map iterated in the order of the keys -- this map if it is already in that order. **/
+    public ObjectDoubleFuncMap<KEY> sortedByKey(Comparator<? super KEY> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        if ((order != null) && comparator.equals(this.comparator))
+            return this;
+        
+        var newOrder = new int[size];
+        var index    = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null)
+                newOrder[index++] = slot;
+        }
+        sortSlots(newOrder, (slot1, slot2) -> compareKeys(comparator, keys[slot1], keys[slot2]));
+        return new ObjectDoubleFuncMap<>(keys, values, size, newOrder, comparator);
+    }
+    
+    @FunctionalInterface
+    public interface ObjDoubleConsumer<K> {
+        void accept(K key, double value);
+    }
+    
+    /** Call the consumer with each entry in iteration order. **/
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjDoubleConsumer<? super KEY> consumer) {
+        var count = (order != null) ? order.length : keys.length;
+        for (int i = 0; i < count; i++) {
+            var slot = (order != null) ? order[i] : i;
+            if (keys[slot] != null)
+                consumer.accept((KEY)keys[slot], values[slot]);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof ObjectDoubleFuncMap))
+            return false;
+        
+        var other = (ObjectDoubleFuncMap<?>)obj;
+        if (other.size != size)
+            return false;
+        
+        for (int slot = 0; slot < keys.length; slot++) {
+            var key = keys[slot];
+            if (key == null)
+                continue;
+            
+            var otherSlot = slotOf(other.keys, key);
+            if ((other.keys[otherSlot] == null) || (Double.compare(values[slot], other.values[otherSlot]) != 0))
+                return false;
+        }
+        return true;
+    }
+    
+    /** The sum of the hash codes of the entries as {@link java.util.Map#hashCode()} -- so it is the same in any order. **/
+    @Override
+    public int hashCode() {
+        var hashCode = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null)
+                hashCode += keys[slot].hashCode() ^ Double.hashCode(values[slot]);
+        }
+        return hashCode;
+    }
+    
+    @Override
+    public String toString() {
+        var buffer = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (buffer.length() != 1)
+                buffer.append(", ");
+            buffer.append(key).append(":").append(value);
+        });
+        return buffer.append("}").toString();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <K> int compareKeys(Comparator<? super K> comparator, Object key1, Object key2) {
+        return comparator.compare((K)key1, (K)key2);
+    }
+    
+    private static int slotOf(Object[] keys, Object key) {
+        var mask = keys.length - 1;
+        var slot = mix(key.hashCode()) & mask;
+        while ((keys[slot] != null) && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private static void rehash(Object[] keys, double[] values, Object[] newKeys, double[] newValues) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                var slot = slotOf(newKeys, keys[i]);
+                newKeys  [slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+    }
+    
+    /** Mutable builder -- {@link #build()} hands its table over to the map so it can only be built once. **/
+    public static final class Builder<KEY> {
+        
+        private Object[] keys;
+        private double[] values;
+        private int      size = 0;
+        
+        private Builder(int expectedSize) {
+            var capacity = capacityFor(expectedSize);
+            this.keys   = new Object[capacity];
+            this.values = new double[capacity];
+        }
+        
+        /** Add or replace the entry. **/
+        public Builder<KEY> with(KEY key, double value) {
+            Objects.requireNonNull(key, "key");
+            if (keys == null)
+                throw new IllegalStateException("Already built.");
+            
+            var slot = slotOf(keys, key);
+            if (keys[slot] == null) {
+                if (capacityFor(size + 1) > keys.length) {
+                    var newKeys   = new Object[capacityFor(size + 1)];
+                    var newValues = new double[newKeys.length];
+                    rehash(keys, values, newKeys, newValues);
+                    keys   = newKeys;
+                    values = newValues;
+                    slot   = slotOf(keys, key);
+                }
+                size++;
+            }
+            keys  [slot] = key;
+            values[slot] = value;
+            return this;
+        }
+        
+        /** The map. **/
+        public ObjectDoubleFuncMap<KEY> build() {
+            if (keys == null)
+                throw new IllegalStateException("Already built.");
+            
+            var map = new ObjectDoubleFuncMap<KEY>(keys, values, size, null, null);
+            keys   = null;
+            values = null;
+            return map;
+        }
+    }
+    
+}
@@ -0,0 +1,89 @@
+package example.functionalj.map;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Sizing, hashing and ordering shared by the primitive maps.
+ * 
+ * The tables are powers of two at most half full and probed linearly, so a miss ends at the first empty slot a
+ *   short way from the home slot. A sorted map keeps the order as an int[] of slots -- sorted and changed here
+ *   without boxing a slot.
+ **/
+class OpenAddressing {
+    
+    static final int MAX_CAPACITY = 1 << 30;
+    
+    static int capacityFor(int size) {
+        if (size > (MAX_CAPACITY >> 1))
+            throw new IllegalArgumentException("Too many entries: " + size);
+        
+        var capacity = 4;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    static int mix(int hash) {
+        var h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    /** Sort the slots by comparing two slots -- a merge sort straight on the int[] so no slot is boxed. **/
+    static void sortSlots(int[] slots, IntBinaryOperator compare) {
+        mergeSort(slots.clone(), slots, 0, slots.length, compare);
+    }
+    
+    /** Sort target[from, to) using source (holding the same slots) as the scratch space. **/
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntBinaryOperator compare) {
+        if (to - from < 8) {
+            for (int i = from + 1; i < to; i++) {
+                var slot  = target[i];
+                var index = i;
+                while ((index > from) && (compare.applyAsInt(target[index - 1], slot) > 0)) {
+                    target[index] = target[index - 1];
+                    index--;
+                }
+                target[index] = slot;
+            }
+            return;
+        }
+        
+        var middle = (from + to) >>> 1;
+        mergeSort(target, source, from,   middle, compare);
+        mergeSort(target, source, middle, to,     compare);
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if ((right >= to) || ((left < middle) && (compare.applyAsInt(source[left], source[right]) <= 0)))
+                 target[i] = source[left++];
+            else target[i] = source[right++];
+        }
+    }
+    
+    /** The order with the new slot inserted after every slot it does not sort before -- found by binary search. **/
+    static int[] insertSlot(int[] order, int slot, IntUnaryOperator compareToSlot) {
+        var low  = 0;
+        var high = order.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (compareToSlot.applyAsInt(order[middle]) < 0)
+                 high = middle;
+            else low  = middle + 1;
+        }
+        var newOrder = new int[order.length + 1];
+        System.arraycopy(order, 0,   newOrder, 0,       low);
+        System.arraycopy(order, low, newOrder, low + 1, order.length - low);
+        newOrder[low] = slot;
+        return newOrder;
+    }
+    
+    /** The same order after the table is rehashed -- each slot replaced by where its key is now. **/
+    static int[] remapSlots(int[] order, IntUnaryOperator newSlotOf) {
+        var newOrder = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            newOrder[i] = newSlotOf.applyAsInt(order[i]);
+        }
+        return newOrder;
+    }
+    
+}
@@ -0,0 +1,394 @@
+package example.functionalj.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import functionalj.map.FuncMap;
+
+/**
+ * Immutable map as a hash array mapped trie -- {@code with} and {@code get} walk at most 7 nodes.
+ * 
+ * Each node keeps a 32-bit bitmap of which of the 32 slots for the next 5 bits of the hash are used and an array of
+ *   just those slots -- a key and its value or, with a null key, a child node. {@link #with(Object, Object)} copies
+ *   only the path to the changed slot and shares every other node with the old map. Keys whose whole hash collides
+ *   share a collision node.
+ * It is a read-only {@link Map} like a FuncMap and {@link #toFuncMap()} converts it.
+ * The spliterator of {@link #entrySet()} splits along the trie -- the slots of a node in halves and a lone child into
+ *   its own slots -- so a parallel stream of the entries gets a chunk per subtree without copying.
+ **/
+public final class PersistentHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+    
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    
+    private static final Object                            NOT_FOUND  = new Object();
+    private static final BitmapNode                        EMPTY_NODE = new BitmapNode(0, new Object[0]);
+    private static final PersistentHashMap<Object, Object> EMPTY      = new PersistentHashMap<>(0, EMPTY_NODE);
+    
+    private final int  size;
+    private final Node root;
+    
+    private PersistentHashMap(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+    
+    /** The empty map. **/
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>)EMPTY;
+    }
+    
+    /** The map of the entries. **/
+    public static <K, V> PersistentHashMap<K, V> from(Map<? extends K, ? extends V> map) {
+        PersistentHashMap<K, V> result = empty();
+        for (var entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public VALUE get(Object key) {
+        if (key == null)
+            return null;
+        
+        var found = root.find(0, hash(key), key, NOT_FOUND);
+        return (found == NOT_FOUND) ? null : (VALUE)found;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return (key != null) && (root.find(0, hash(key), key, NOT_FOUND) != NOT_FOUND);
+    }
+    
+    /** The new map with the key mapped to the value. **/
+    public PersistentHashMap<KEY, VALUE> with(KEY key, VALUE value) {
+        Objects.requireNonNull(key, "key");
+        var added   = new boolean[1];
+        var newRoot = root.put(0, hash(key), key, value, added);
+        return (newRoot == root) ? this : new PersistentHashMap<>(added[0] ? size + 1 : size, newRoot);
+    }
+    
+    /**
+     * The new map with the value of the key changed by the function -- a lens change such as
+     *   {@code thePersonel.lastName.changeTo("Skywalker")} can be used directly.
+     **/
+    public PersistentHashMap<KEY, VALUE> update(KEY key, Function<? super VALUE, ? extends VALUE> change) {
+        if (!containsKey(key))
+            return this;
+        
+        return with(key, change.apply(get(key)));
+    }
+    
+    /** This map as a FuncMap. **/
+    public FuncMap<KEY, VALUE> toFuncMap() {
+        return FuncMap.from(this);
+    }
+    
+    @Override
+    public Set<Entry<KEY, VALUE>> entrySet() {
+        return new AbstractSet<Entry<KEY, VALUE>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+            @Override
+            public Iterator<Entry<KEY, VALUE>> iterator() {
+                return new EntryIterator<>(root);
+            }
+            @Override
+            public Spliterator<Entry<KEY, VALUE>> spliterator() {
+                return new EntrySpliterator<>(root.array(), size);
+            }
+        };
+    }
+    
+    private static int hash(Object key) {
+        var hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+    
+    private static abstract class Node {
+        abstract Object   find(int shift, int hash, Object key, Object notFound);
+        abstract Node     put(int shift, int hash, Object key, Object value, boolean[] added);
+        abstract Object[] array();
+    }
+    
+    private static final class BitmapNode extends Node {
+        
+        private final int      bitmap;
+        private final Object[] array;
+        
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array  = array;
+        }
+        
+        @Override
+        Object[] array() {
+            return array;
+        }
+        
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound) {
+            var bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0)
+                return notFound;
+            
+            var index     = Integer.bitCount(bitmap & (bit - 1));
+            var slotKey   = array[2*index];
+            var slotValue = array[2*index + 1];
+            if (slotKey == null)
+                return ((Node)slotValue).find(shift + BITS, hash, key, notFound);
+            
+            return key.equals(slotKey) ? slotValue : notFound;
+        }
+        
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            var bit   = 1 << ((hash >>> shift) & MASK);
+            var index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                var count    = Integer.bitCount(bitmap);
+                var newArray = new Object[2*(count + 1)];
+                System.arraycopy(array, 0,       newArray, 0,           2*index);
+                System.arraycopy(array, 2*index, newArray, 2*index + 2, 2*(count - index));
+                newArray[2*index]     = key;
+                newArray[2*index + 1] = value;
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            
+            var slotKey   = array[2*index];
+            var slotValue = array[2*index + 1];
+            if (slotKey == null) {
+                var child    = (Node)slotValue;
+                var newChild = child.put(shift + BITS, hash, key, value, added);
+                return (newChild == child) ? this : withSlot(2*index + 1, newChild);
+            }
+            if (key.equals(slotKey)) {
+                return (slotValue == value) ? this : withSlot(2*index + 1, value);
+            }
+            
+            // Two keys in one slot -- push both down a level.
+            added[0] = true;
+            var child    = newNode(shift + BITS, slotKey, slotValue, hash, key, value);
+            var newArray = array.clone();
+            newArray[2*index]     = null;
+            newArray[2*index + 1] = child;
+            return new BitmapNode(bitmap, newArray);
+        }
+        
+        private BitmapNode withSlot(int slot, Object value) {
+            var newArray = array.clone();
+            newArray[slot] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+        
+        private static Node newNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            var hash1 = hash(key1);
+            if (hash1 == hash2)
+                return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+            
+            var ignored = new boolean[1];
+            return EMPTY_NODE
+                    .put(shift, hash1, key1, value1, ignored)
+                    .put(shift, hash2, key2, value2, ignored);
+        }
+    }
+    
+    private static final class CollisionNode extends Node {
+        
+        private final int      hash;
+        private final Object[] array;
+        
+        CollisionNode(int hash, Object[] array) {
+            this.hash  = hash;
+            this.array = array;
+        }
+        
+        @Override
+        Object[] array() {
+            return array;
+        }
+        
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i]))
+                    return array[i + 1];
+            }
+            return notFound;
+        }
+        
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // A different hash -- nest this node under a bitmap node at this level.
+                var bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[] { null, this }).put(shift, hash, key, value, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value)
+                        return this;
+                    
+                    var newArray = array.clone();
+                    newArray[i + 1] = value;
+                    return new CollisionNode(hash, newArray);
+                }
+            }
+            added[0] = true;
+            var newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length]     = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+    }
+    
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        
+        private final ArrayDeque<Object[]> arrays  = new ArrayDeque<>();
+        private final ArrayDeque<Integer>  indexes = new ArrayDeque<>();
+        private Entry<K, V>                next    = null;
+        
+        EntryIterator(Node root) {
+            arrays .push(root.array());
+            indexes.push(0);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while ((next == null) && !arrays.isEmpty()) {
+                var array = arrays.peek();
+                var index = indexes.pop();
+                if (index >= array.length) {
+                    arrays.pop();
+                    continue;
+                }
+                
+                indexes.push(index + 2);
+                var key   = array[index];
+                var value = array[index + 1];
+                if (key == null) {
+                    arrays .push(((Node)value).array());
+                    indexes.push(0);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    var entry = (Entry<K, V>)new SimpleImmutableEntry<>(key, value);
+                    next = entry;
+                }
+            }
+            return next != null;
+        }
+        
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            
+            var entry = next;
+            next = null;
+            return entry;
+        }
+    }
+    
+    private static final class EntrySpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        
+        private Object[]            array;
+        private int                 index;
+        private int                 fence;
+        private long                estimate;
+        private boolean             isSized;
+        private EntryIterator<K, V> child = null;
+        
+        EntrySpliterator(Object[] array, int size) {
+            this(array, 0, array.length, size, true);
+        }
+        
+        private EntrySpliterator(Object[] array, int index, int fence, long estimate, boolean isSized) {
+            this.array    = array;
+            this.index    = index;
+            this.fence    = fence;
+            this.estimate = estimate;
+            this.isSized  = isSized;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            while (true) {
+                if ((child != null) && child.hasNext()) {
+                    action.accept(child.next());
+                    return true;
+                }
+                child = null;
+                if (index >= fence)
+                    return false;
+                
+                var key   = array[index];
+                var value = array[index + 1];
+                index += 2;
+                if (key == null) {
+                    child = new EntryIterator<>((Node)value);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    var entry = (Entry<K, V>)new SimpleImmutableEntry<>(key, value);
+                    action.accept(entry);
+                    return true;
+                }
+            }
+        }
+        
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            // Only split before walking into a child.
+            if (child != null)
+                return null;
+            
+            // A lone child -- split its slots instead.
+            while ((fence - index == 2) && (array[index] == null)) {
+                array = ((Node)array[index + 1]).array();
+                index = 0;
+                fence = array.length;
+            }
+            var slots = (fence - index) / 2;
+            if (slots < 2)
+                return null;
+            
+            var middle = index + 2*(slots / 2);
+            var prefix = new EntrySpliterator<K, V>(array, index, middle, estimate >>> 1, false);
+            index     = middle;
+            estimate -= prefix.estimate;
+            isSized   = false;
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | IMMUTABLE | (isSized ? SIZED : 0);
+        }
+    }
+    
+}
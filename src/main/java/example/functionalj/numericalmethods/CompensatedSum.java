@@ -0,0 +1,30 @@
+package example.functionalj.numericalmethods;
+
+import static java.lang.Math.abs;
+
+/** Neumaier's variant of Kahan summation -- keeps the low-order bits lost by each addition. **/
+final class CompensatedSum {
+    
+    private double sum          = 0.0;
+    private double compensation = 0.0;
+    
+    CompensatedSum add(double value) {
+        var total = sum + value;
+        if (abs(sum) >= abs(value))
+             compensation += (sum - total) + value;
+        else compensation += (value - total) + sum;
+        sum = total;
+        return this;
+    }
+    
+    CompensatedSum add(CompensatedSum other) {
+        add(other.sum);
+        add(other.compensation);
+        return this;
+    }
+    
+    double value() {
+        return sum + compensation;
+    }
+    
+}
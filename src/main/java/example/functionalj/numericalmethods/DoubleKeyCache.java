@@ -0,0 +1,323 @@
+package example.functionalj.numericalmethods;
+
+import static java.lang.Double.doubleToLongBits;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded cache from a pair of doubles to a double -- with no boxing.
+ * 
+ * The entries are kept in primitive arrays and found through an open-addressing (linear probing) index at most half
+ *   full. When the cache is full, an entry is evicted using the CLOCK algorithm: each entry has a referenced bit that
+ *   is set on a hit and the clock hand clears the bits as it sweeps, evicting the first entry whose bit is already
+ *   clear -- an approximation of LRU with no list to maintain.
+ * 
+ * Keys are compared by their bits so NaN is a valid key and 0.0 and -0.0 are different keys. Functions of one
+ *   variable use 0.0 as the second key.
+ * 
+ * The cache is thread-safe. {@link #computeIfAbsent} is single-flight: callers asking for the same keys at the same
+ *   time wait for the first one to compute the value instead of computing it again -- and no lock is held while it
+ *   does.
+ **/
+public final class DoubleKeyCache {
+    
+    /** Compute the value for a pair of keys. **/
+    @FunctionalInterface
+    public static interface Loader {
+        
+        public double load(double first, double second) throws Exception;
+        
+    }
+    
+    /** Returned by {@link #get} when the key is not in the cache -- check with {@link #contains} if NaN is a valid value. **/
+    public static final double MISSING = Double.NaN;
+    
+    private final int       capacity;
+    private final double[]  firstKeys;
+    private final double[]  secondKeys;
+    private final double[]  values;
+    private final boolean[] referenced;
+    
+    /** Slot + 1 of the entry for each bucket, 0 for an empty bucket. **/
+    private final int[] buckets;
+    private final int   mask;
+    
+    /** The keys being computed by {@link #computeIfAbsent} -- guarded by this cache. **/
+    private final Map<Keys, InFlight> inFlight = new HashMap<>();
+    
+    private int  size      = 0;
+    private int  clockHand = 0;
+    private long hits      = 0;
+    private long misses    = 0;
+    private long evictions = 0;
+    
+    public DoubleKeyCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        
+        this.capacity   = capacity;
+        this.firstKeys  = new double[capacity];
+        this.secondKeys = new double[capacity];
+        this.values     = new double[capacity];
+        this.referenced = new boolean[capacity];
+        
+        var bucketCount = Integer.highestOneBit(capacity) * 4;
+        this.buckets = new int[bucketCount];
+        this.mask    = bucketCount - 1;
+    }
+    
+    /** Get the value for the keys and count the hit or the miss -- {@link #MISSING} on a miss. **/
+    public synchronized double get(double first, double second) {
+        var slot = find(first, second);
+        if (slot < 0) {
+            misses++;
+            return MISSING;
+        }
+        hits++;
+        referenced[slot] = true;
+        return values[slot];
+    }
+    
+    /** Check if the keys are in the cache -- without counting. **/
+    public synchronized boolean contains(double first, double second) {
+        return find(first, second) >= 0;
+    }
+    
+    /**
+     * Get the value for the keys or compute and put it on a miss -- counting the hit or the miss.
+     * 
+     * No lock is held while the loader runs so a loader may use this cache (or anything else) for other keys. A caller
+     *   asking for keys that are being computed waits for that value (or the exception of its loader) instead of
+     *   computing it again -- a loader asking for its own keys would wait for itself, so that throws instead. Like
+     *   any single-flight cache, two loaders that each ask for the keys the other one is computing wait for each
+     *   other.
+     **/
+    public double computeIfAbsent(double first, double second, Loader loader) throws Exception {
+        var      keys = new Keys(first, second);
+        InFlight flight;
+        synchronized (this) {
+            var slot = find(first, second);
+            if (slot >= 0) {
+                hits++;
+                referenced[slot] = true;
+                return values[slot];
+            }
+            
+            flight = inFlight.get(keys);
+            if (flight == null) {
+                misses++;
+                inFlight.put(keys, new InFlight());
+            }
+        }
+        if (flight != null)
+            return awaitValue(flight);
+        
+        return load(keys, loader);
+    }
+    
+    private double awaitValue(InFlight flight) throws Exception {
+        if (flight.owner == Thread.currentThread())
+            throw new IllegalStateException("The loader asked for the keys it is computing.");
+        
+        double value;
+        try {
+            value = flight.get();
+        } catch (ExecutionException exception) {
+            var cause = exception.getCause();
+            if (cause instanceof Exception)
+                throw (Exception)cause;
+            throw (Error)cause;
+        }
+        synchronized (this) {
+            hits++;
+        }
+        return value;
+    }
+    
+    private double load(Keys keys, Loader loader) throws Exception {
+        InFlight flight;
+        double   value;
+        try {
+            value = loader.load(keys.first, keys.second);
+        } catch (Exception | Error throwable) {
+            synchronized (this) {
+                flight = inFlight.remove(keys);
+            }
+            flight.completeExceptionally(throwable);
+            throw throwable;
+        }
+        synchronized (this) {
+            // A plain put may have added the keys meanwhile -- so put rather than insert.
+            put(keys.first, keys.second, value);
+            flight = inFlight.remove(keys);
+        }
+        flight.complete(value);
+        return value;
+    }
+    
+    /** Put the value for the keys -- evicting an entry if the cache is full. **/
+    public synchronized void put(double first, double second, double value) {
+        var existing = find(first, second);
+        if (existing >= 0) {
+            values    [existing] = value;
+            referenced[existing] = true;
+            return;
+        }
+        insert(first, second, value);
+    }
+    
+    /** Add an entry for keys not in the cache. **/
+    private void insert(double first, double second, double value) {
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = evict();
+        }
+        firstKeys [slot] = first;
+        secondKeys[slot] = second;
+        values    [slot] = value;
+        referenced[slot] = false;
+        
+        var bucket = bucketOf(first, second);
+        while (buckets[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        buckets[bucket] = slot + 1;
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    public synchronized long hits() {
+        return hits;
+    }
+    
+    public synchronized long misses() {
+        return misses;
+    }
+    
+    public synchronized long evictions() {
+        return evictions;
+    }
+    
+    public synchronized void clear() {
+        Arrays.fill(buckets, 0);
+        size      = 0;
+        clockHand = 0;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return "DoubleKeyCache[size: " + size + ", capacity: " + capacity
+                + ", hits: " + hits + ", misses: " + misses + ", evictions: " + evictions + "]";
+    }
+    
+    private int find(double first, double second) {
+        var firstBits  = doubleToLongBits(first);
+        var secondBits = doubleToLongBits(second);
+        var bucket     = bucketOf(first, second);
+        while (true) {
+            var entry = buckets[bucket];
+            if (entry == 0)
+                return -1;
+            
+            var slot = entry - 1;
+            if ((doubleToLongBits(firstKeys[slot]) == firstBits) && (doubleToLongBits(secondKeys[slot]) == secondBits))
+                return slot;
+            
+            bucket = (bucket + 1) & mask;
+        }
+    }
+    
+    /** Sweep the clock to find the slot to reuse and remove its entry from the index. **/
+    private int evict() {
+        while (referenced[clockHand]) {
+            referenced[clockHand] = false;
+            clockHand = (clockHand + 1) % capacity;
+        }
+        var slot = clockHand;
+        clockHand = (clockHand + 1) % capacity;
+        
+        removeFromBuckets(slot);
+        evictions++;
+        return slot;
+    }
+    
+    /** Remove with backward shifting so the probe sequences of the other entries stay unbroken. **/
+    private void removeFromBuckets(int slot) {
+        var bucket = bucketOf(firstKeys[slot], secondKeys[slot]);
+        while (buckets[bucket] != slot + 1) {
+            bucket = (bucket + 1) & mask;
+        }
+        
+        var hole = bucket;
+        var next = (hole + 1) & mask;
+        while (buckets[next] != 0) {
+            var entrySlot = buckets[next] - 1;
+            var home      = bucketOf(firstKeys[entrySlot], secondKeys[entrySlot]);
+            // Move the entry into the hole if the hole is between its home and where it is now (cyclically).
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                buckets[hole] = buckets[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        buckets[hole] = 0;
+    }
+    
+    private int bucketOf(double first, double second) {
+        // MurmurHash3 finalizer over the combined bits.
+        var hash = doubleToLongBits(first) * 0x9E3779B97F4A7C15L + doubleToLongBits(second);
+        hash ^= (hash >>> 33);
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= (hash >>> 33);
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= (hash >>> 33);
+        return (int)hash & mask;
+    }
+    
+    /** The keys of an entry being computed -- compared by their bits like the entries. **/
+    private static final class Keys {
+        
+        final double first;
+        final double second;
+        
+        Keys(double first, double second) {
+            this.first  = first;
+            this.second = second;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Keys))
+                return false;
+            
+            var other = (Keys)obj;
+            return (doubleToLongBits(first)  == doubleToLongBits(other.first))
+                && (doubleToLongBits(second) == doubleToLongBits(other.second));
+        }
+        
+        @Override
+        public int hashCode() {
+            return Double.hashCode(first) * 31 + Double.hashCode(second);
+        }
+    }
+    
+    /** The value being computed by the owner thread. **/
+    private static final class InFlight extends CompletableFuture<Double> {
+        
+        final Thread owner = Thread.currentThread();
+        
+    }
+    
+}
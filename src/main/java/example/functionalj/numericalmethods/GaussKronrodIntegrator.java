@@ -0,0 +1,84 @@
+package example.functionalj.numericalmethods;
+
+import static java.lang.Math.abs;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive Gauss-Kronrod (G7/K15) integration.
+ * 
+ * The 15-point Kronrod rule reuses the 7 Gauss nodes so the difference between the two is an error estimate at no
+ *   extra cost. Intervals whose estimate is above their share of the tolerance get bisected.
+ **/
+class GaussKronrodIntegrator implements Integrator {
+    
+    static final int DEFAULT_MAX_DEPTH = 50;
+    
+    /** Kronrod nodes in (0, 1) -- the odd indexes are the Gauss nodes. The center node 0 is handled separately. **/
+    private static final double[] NODES = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649
+    };
+    private static final double KRONROD_CENTER_WEIGHT = 0.209482141084727828012999174891714;
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975
+    };
+    private static final double GAUSS_CENTER_WEIGHT = 0.417959183673469387755102040816327;
+    
+    private final double absoluteTolerance;
+    private final int    maxDepth;
+    
+    GaussKronrodIntegrator(double absoluteTolerance, int maxDepth) {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+        
+        this.absoluteTolerance = absoluteTolerance;
+        this.maxDepth          = maxDepth;
+    }
+    
+    @Override
+    public double integrate(DoubleUnaryOperator function, double startX, double stopX) {
+        return integrate(function, startX, stopX, absoluteTolerance, 0);
+    }
+    
+    private double integrate(DoubleUnaryOperator function, double startX, double stopX, double tolerance, int depth) {
+        var center     = (startX + stopX) / 2;
+        var halfLength = (stopX - startX) / 2;
+        
+        var centerY = function.applyAsDouble(center);
+        var kronrod = KRONROD_CENTER_WEIGHT * centerY;
+        var gauss   = GAUSS_CENTER_WEIGHT   * centerY;
+        for (int i = 0; i < NODES.length; i++) {
+            var dx = halfLength * NODES[i];
+            var ys = function.applyAsDouble(center - dx) + function.applyAsDouble(center + dx);
+            kronrod += KRONROD_WEIGHTS[i] * ys;
+            if ((i % 2) == 1)
+                gauss += GAUSS_WEIGHTS[i / 2] * ys;
+        }
+        
+        var area  = kronrod * halfLength;
+        var error = abs((kronrod - gauss) * halfLength);
+        if ((error <= tolerance) || (depth >= maxDepth))
+            return area;
+        
+        return integrate(function, startX, center, tolerance / 2, depth + 1)
+             + integrate(function, center, stopX,  tolerance / 2, depth + 1);
+    }
+    
+}
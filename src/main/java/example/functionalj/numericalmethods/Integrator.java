@@ -0,0 +1,31 @@
+package example.functionalj.numericalmethods;
+
+import java.util.function.DoubleUnaryOperator;
+
+/** Numerical integration of a function over [startX, stopX]. **/
+@FunctionalInterface
+interface Integrator {
+    
+    double integrate(DoubleUnaryOperator function, double startX, double stopX);
+    
+    /** Fixed-segment trapezoidal rule -- the baseline. **/
+    static Integrator trapezoidal(int segmentCount) {
+        return (function, startX, stopX) -> PrimitiveTrapezoidal.area(function, startX, stopX, segmentCount);
+    }
+    
+    /** Fixed-segment Simpson's rule -- the segment count must be even. **/
+    static Integrator simpson(int segmentCount) {
+        return new SimpsonRule(segmentCount);
+    }
+    
+    /** Romberg extrapolation of the trapezoidal rule until the relative change is within the tolerance. **/
+    static Integrator romberg(double relativeTolerance) {
+        return new RombergIntegrator(relativeTolerance, RombergIntegrator.DEFAULT_MAX_LEVEL);
+    }
+    
+    /** Adaptive 7-point Gauss/15-point Kronrod that keeps bisecting the intervals whose error is too large. **/
+    static Integrator gaussKronrod(double absoluteTolerance) {
+        return new GaussKronrodIntegrator(absoluteTolerance, GaussKronrodIntegrator.DEFAULT_MAX_DEPTH);
+    }
+    
+}
@@ -0,0 +1,30 @@
+package example.functionalj.numericalmethods;
+
+import functionalj.function.Func1;
+
+/**
+ * Func1 of double that remembers its results in a bounded {@link DoubleKeyCache}.
+ * 
+ * Meant for expensive objectives (like simulations) that may be asked for the same point more than once.
+ **/
+public class MemoizedFunc1 implements Func1<Double, Double> {
+    
+    private final Func1<Double, Double> func;
+    private final DoubleKeyCache        cache;
+    
+    public MemoizedFunc1(Func1<Double, Double> func, int capacity) {
+        this.func  = func;
+        this.cache = new DoubleKeyCache(capacity);
+    }
+    
+    @Override
+    public Double applyUnsafe(Double x) throws Exception {
+        return cache.computeIfAbsent(x, 0.0, (first, second) -> func.applyUnsafe(first));
+    }
+    
+    /** The cache -- for its hit and miss counts. **/
+    public DoubleKeyCache cache() {
+        return cache;
+    }
+    
+}
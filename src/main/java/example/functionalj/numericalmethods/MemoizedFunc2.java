@@ -0,0 +1,30 @@
+package example.functionalj.numericalmethods;
+
+import functionalj.function.Func2;
+
+/**
+ * Func2 of doubles that remembers its results in a bounded {@link DoubleKeyCache}.
+ * 
+ * Meant for expensive objectives (like simulations) that may be asked for the same point more than once.
+ **/
+public class MemoizedFunc2 implements Func2<Double, Double, Double> {
+    
+    private final Func2<Double, Double, Double> func;
+    private final DoubleKeyCache                cache;
+    
+    public MemoizedFunc2(Func2<Double, Double, Double> func, int capacity) {
+        this.func  = func;
+        this.cache = new DoubleKeyCache(capacity);
+    }
+    
+    @Override
+    public Double applyUnsafe(Double x, Double y) throws Exception {
+        return cache.computeIfAbsent(x, y, (first, second) -> func.applyUnsafe(first, second));
+    }
+    
+    /** The cache -- for its hit and miss counts. **/
+    public DoubleKeyCache cache() {
+        return cache;
+    }
+    
+}
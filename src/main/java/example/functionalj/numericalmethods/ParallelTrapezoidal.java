@@ -0,0 +1,78 @@
+package example.functionalj.numericalmethods;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Trapezoidal rule that splits the segments into chunks and sums them on a fork/join pool.
+ * 
+ * The chunks are split by sample index only (never by the number of workers) so the result is the same on any pool.
+ * Partial sums are combined with {@link CompensatedSum} so the parallel and sequential results agree closely.
+ **/
+class ParallelTrapezoidal {
+    
+    static final int DEFAULT_CHUNK_SIZE = 16_384;
+    
+    static double area(DoubleUnaryOperator function, double startX, double stopX, int segmentCount) {
+        return area(ForkJoinPool.commonPool(), function, startX, stopX, segmentCount, DEFAULT_CHUNK_SIZE);
+    }
+    
+    static double area(
+            ForkJoinPool        pool,
+            DoubleUnaryOperator function,
+            double              startX,
+            double              stopX,
+            int                 segmentCount,
+            int                 chunkSize) {
+        if (segmentCount < 1)
+            throw new IllegalArgumentException("segmentCount must be positive: " + segmentCount);
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        
+        var stepSize = (stopX - startX) / segmentCount;
+        var interior = pool.invoke(new Chunk(function, startX, stepSize, 1, segmentCount, chunkSize));
+        var ends     = (function.applyAsDouble(startX) + function.applyAsDouble(stopX)) / 2;
+        return interior.add(ends).value() * stepSize;
+    }
+    
+    /** Sum of the samples from index {@code from} (inclusive) to {@code to} (exclusive). **/
+    @SuppressWarnings("serial")
+    private static class Chunk extends RecursiveTask<CompensatedSum> {
+        
+        private final DoubleUnaryOperator function;
+        private final double              startX;
+        private final double              stepSize;
+        private final int                 from;
+        private final int                 to;
+        private final int                 chunkSize;
+        
+        Chunk(DoubleUnaryOperator function, double startX, double stepSize, int from, int to, int chunkSize) {
+            this.function  = function;
+            this.startX    = startX;
+            this.stepSize  = stepSize;
+            this.from      = from;
+            this.to        = to;
+            this.chunkSize = chunkSize;
+        }
+        
+        @Override
+        protected CompensatedSum compute() {
+            if (to - from <= chunkSize) {
+                var sum = new CompensatedSum();
+                for (int i = from; i < to; i++) {
+                    sum.add(function.applyAsDouble(startX + i * stepSize));
+                }
+                return sum;
+            }
+            
+            var middle = (from + to) >>> 1;
+            var left   = new Chunk(function, startX, stepSize, from, middle, chunkSize);
+            var right  = new Chunk(function, startX, stepSize, middle, to, chunkSize);
+            left.fork();
+            var rightSum = right.compute();
+            return left.join().add(rightSum);
+        }
+    }
+    
+}
@@ -0,0 +1,27 @@
+package example.functionalj.numericalmethods;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Trapezoidal rule that stays on primitive double the whole way.
+ *
+ * Unlike the {@code mapTwo(...)} form in {@link Trapezoidal}, no sample is boxed and no pair is allocated.
+ * Each interior sample is counted twice by the pairwise form so it is only added once here and the two end points
+ *   are halved.
+ **/
+class PrimitiveTrapezoidal {
+    
+    static double area(DoubleUnaryOperator function, double startX, double stopX, int segmentCount) {
+        if (segmentCount < 1)
+            throw new IllegalArgumentException("segmentCount must be positive: " + segmentCount);
+        
+        var stepSize = (stopX - startX) / segmentCount;
+        var sum      = (function.applyAsDouble(startX) + function.applyAsDouble(stopX)) / 2;
+        for (int i = 1; i < segmentCount; i++) {
+            // x is computed as startX + i * stepSize rather than accumulated so its rounding error does not grow.
+            sum += function.applyAsDouble(startX + i * stepSize);
+        }
+        return sum * stepSize;
+    }
+    
+}
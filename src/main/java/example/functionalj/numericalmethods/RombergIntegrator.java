@@ -0,0 +1,63 @@
+package example.functionalj.numericalmethods;
+
+import static java.lang.Math.abs;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Romberg integration -- Richardson extrapolation of the trapezoidal rule.
+ * 
+ * Each level halves the step and only evaluates the new mid points so no function value is computed twice.
+ **/
+class RombergIntegrator implements Integrator {
+    
+    static final int DEFAULT_MAX_LEVEL = 20;
+    
+    private final double relativeTolerance;
+    private final int    maxLevel;
+    
+    RombergIntegrator(double relativeTolerance, int maxLevel) {
+        if (maxLevel < 1)
+            throw new IllegalArgumentException("maxLevel must be positive: " + maxLevel);
+        
+        this.relativeTolerance = relativeTolerance;
+        this.maxLevel          = maxLevel;
+    }
+    
+    @Override
+    public double integrate(DoubleUnaryOperator function, double startX, double stopX) {
+        // Only the previous row of the tableau is needed.
+        var previous = new double[maxLevel + 1];
+        var current  = new double[maxLevel + 1];
+        
+        var stepSize = stopX - startX;
+        var segments = 1L;
+        previous[0] = (function.applyAsDouble(startX) + function.applyAsDouble(stopX)) * stepSize / 2;
+        
+        for (int level = 1; level <= maxLevel; level++) {
+            stepSize /= 2;
+            
+            var midSum = 0.0;
+            for (long i = 0; i < segments; i++) {
+                midSum += function.applyAsDouble(startX + (2*i + 1) * stepSize);
+            }
+            segments *= 2;
+            
+            current[0] = previous[0] / 2 + midSum * stepSize;
+            var factor = 1.0;
+            for (int j = 1; j <= level; j++) {
+                factor *= 4;
+                current[j] = current[j - 1] + (current[j - 1] - previous[j - 1]) / (factor - 1);
+            }
+            
+            if (abs(current[level] - previous[level - 1]) <= relativeTolerance * abs(current[level]))
+                return current[level];
+            
+            var swap = previous;
+            previous = current;
+            current  = swap;
+        }
+        return previous[maxLevel];
+    }
+    
+}
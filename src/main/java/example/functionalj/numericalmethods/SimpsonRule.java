@@ -0,0 +1,32 @@
+package example.functionalj.numericalmethods;
+
+import java.util.function.DoubleUnaryOperator;
+
+/** Composite Simpson's rule over a fixed even number of segments. **/
+class SimpsonRule implements Integrator {
+    
+    private final int segmentCount;
+    
+    SimpsonRule(int segmentCount) {
+        if ((segmentCount < 2) || ((segmentCount % 2) != 0))
+            throw new IllegalArgumentException("segmentCount must be even and positive: " + segmentCount);
+        
+        this.segmentCount = segmentCount;
+    }
+    
+    @Override
+    public double integrate(DoubleUnaryOperator function, double startX, double stopX) {
+        var stepSize = (stopX - startX) / segmentCount;
+        var odds     = 0.0;
+        var evens    = 0.0;
+        for (int i = 1; i < segmentCount; i++) {
+            var y = function.applyAsDouble(startX + i * stepSize);
+            if ((i % 2) == 1)
+                 odds  += y;
+            else evens += y;
+        }
+        var ends = function.applyAsDouble(startX) + function.applyAsDouble(stopX);
+        return (ends + 4*odds + 2*evens) * stepSize / 3;
+    }
+    
+}
@@ -17,6 +17,14 @@ class Trapezoidal {
     
     static interface Func extends DoubleUnaryOperator {}
     
+    /** The reference implementation -- see {@link PrimitiveTrapezoidal} for the one without boxing. **/
+    static double area(Func function, double startX, double stopX, int segmentCount) {
+        var stepSize = (stopX - startX) / segmentCount;
+        var xs       = StartAt(startX).step(stepSize).dropAfter(x -> x >= stopX);
+        var ys       = xs.map(function);
+        return ys.mapTwo((y1, y2) -> (y1 + y2) * stepSize / 2).sum();
+    }
+    
     @Test
     void testTrapezoidalRule() {
         var function   = (Func)((x) -> 3 + 2 * pow(x, 2) - pow(x, 3) + pow(2, x) - exp(-x));
@@ -26,11 +34,8 @@ class Trapezoidal {
         
         var resultLogs = newListBuilder(String.class);
         for (var segmentCount : listOf(1, 2, 4, 8, 16, 200)) {
-            var stepSize = (stopX - startX) / segmentCount;
-            var xs       = StartAt(startX).step(stepSize).dropAfter(x -> x >= stopX);
-            var ys       = xs.map(function);
-            var area     = ys.mapTwo((y1, y2) -> (y1 + y2) * stepSize / 2).sum();
-            var error    = abs((actualArea - area) / actualArea) * 100;
+            var area  = area(function, startX, stopX, segmentCount);
+            var error = abs((actualArea - area) / actualArea) * 100;
             resultLogs.add(format("n = % 4d, Area = %10.7f, error = %10.7f%%\n", segmentCount, area, error));
         }
         assertEquals("n =    1, Area = 11.4638622, error = 39.0815670%\n"
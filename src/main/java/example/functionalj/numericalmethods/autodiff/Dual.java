@@ -0,0 +1,156 @@
+package example.functionalj.numericalmethods.autodiff;
+
+import java.util.Arrays;
+
+/**
+ * Dual number for forward-mode automatic differentiation -- a value together with its gradient.
+ * 
+ * Evaluating a function on {@link #variable(double, int, int) variables} gives the value of the function and its
+ *   exact partial derivatives with respect to all the variables in the same evaluation -- no finite differences.
+ **/
+public final class Dual {
+    
+    private final double   value;
+    private final double[] gradient;
+    
+    private Dual(double value, double[] gradient) {
+        this.value    = value;
+        this.gradient = gradient;
+    }
+    
+    /** A constant in a function of the given number of variables -- its gradient is zero. **/
+    public static Dual constant(double value, int dimension) {
+        return new Dual(value, new double[dimension]);
+    }
+    
+    /** The variable at the index in a function of the given number of variables. **/
+    public static Dual variable(double value, int index, int dimension) {
+        if ((index < 0) || (index >= dimension))
+            throw new IndexOutOfBoundsException("Index: " + index + ", dimension: " + dimension);
+        
+        var gradient = new double[dimension];
+        gradient[index] = 1.0;
+        return new Dual(value, gradient);
+    }
+    
+    /** The variables for the point -- the i-th variable is at the i-th coordinate. **/
+    public static Dual[] variables(double ... point) {
+        var variables = new Dual[point.length];
+        for (int i = 0; i < point.length; i++) {
+            variables[i] = variable(point[i], i, point.length);
+        }
+        return variables;
+    }
+    
+    public double value() {
+        return value;
+    }
+    
+    /** The partial derivative with respect to the variable at the index. **/
+    public double derivative(int index) {
+        return gradient[index];
+    }
+    
+    public int dimension() {
+        return gradient.length;
+    }
+    
+    /** Copy the gradient into the given array. **/
+    public void gradientInto(double[] target) {
+        System.arraycopy(gradient, 0, target, 0, gradient.length);
+    }
+    
+    public Dual plus(Dual other) {
+        var result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] + other.gradient[i];
+        }
+        return new Dual(value + other.value, result);
+    }
+    
+    public Dual plus(double constant) {
+        return new Dual(value + constant, gradient);
+    }
+    
+    public Dual minus(Dual other) {
+        var result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] - other.gradient[i];
+        }
+        return new Dual(value - other.value, result);
+    }
+    
+    public Dual minus(double constant) {
+        return new Dual(value - constant, gradient);
+    }
+    
+    public Dual times(Dual other) {
+        var result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i]*other.value + value*other.gradient[i];
+        }
+        return new Dual(value * other.value, result);
+    }
+    
+    public Dual times(double constant) {
+        return scale(value * constant, constant);
+    }
+    
+    public Dual dividedBy(Dual other) {
+        var result = new double[gradient.length];
+        var square = other.value * other.value;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (gradient[i]*other.value - value*other.gradient[i]) / square;
+        }
+        return new Dual(value / other.value, result);
+    }
+    
+    public Dual dividedBy(double constant) {
+        return scale(value / constant, 1.0 / constant);
+    }
+    
+    public Dual negate() {
+        return scale(-value, -1.0);
+    }
+    
+    public Dual pow(double exponent) {
+        return scale(Math.pow(value, exponent), exponent * Math.pow(value, exponent - 1));
+    }
+    
+    public Dual exp() {
+        var exp = Math.exp(value);
+        return scale(exp, exp);
+    }
+    
+    public Dual log() {
+        return scale(Math.log(value), 1.0 / value);
+    }
+    
+    public Dual sqrt() {
+        var sqrt = Math.sqrt(value);
+        return scale(sqrt, 0.5 / sqrt);
+    }
+    
+    public Dual sin() {
+        return scale(Math.sin(value), Math.cos(value));
+    }
+    
+    public Dual cos() {
+        return scale(Math.cos(value), -Math.sin(value));
+    }
+    
+    /** Chain rule: the result of g(this) has the value and g'(this value) as the factor. **/
+    private Dual scale(double newValue, double factor) {
+        var result = new double[gradient.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = gradient[i] * factor;
+        }
+        return new Dual(newValue, result);
+    }
+    
+    @Override
+    public String toString() {
+        return "Dual[value: " + value + ", gradient: " + Arrays.toString(gradient) + "]";
+    }
+    
+}
@@ -0,0 +1,21 @@
+package example.functionalj.numericalmethods.autodiff;
+
+/** Function of N variables written with {@link Dual} so its gradient comes with its value. **/
+@FunctionalInterface
+public interface DualFunc {
+    
+    public Dual apply(Dual[] variables);
+    
+    /** Evaluate at the point once -- the gradient is written to the given array and the value is returned. **/
+    public default double valueAndGradient(double[] point, double[] gradient) {
+        var result = apply(Dual.variables(point));
+        result.gradientInto(gradient);
+        return result.value();
+    }
+    
+    /** Evaluate the value only. **/
+    public default double value(double[] point) {
+        return apply(Dual.variables(point)).value();
+    }
+    
+}
@@ -0,0 +1,140 @@
+package example.functionalj.numericalmethods.optimization;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+
+/**
+ * Convergence metrics of an optimization kept in constant memory.
+ * 
+ * Only the last iterations (up to the capacity) are kept in a ring buffer of primitive arrays -- older ones only count
+ *   toward the running statistics. The history can be exported as CSV or as a PNG chart without any AWT display so it
+ *   works in a headless JVM.
+ **/
+public class ConvergenceHistory implements IterationListener {
+    
+    private final int[]    iterations;
+    private final double[] values;
+    private final double[] gradientNorms;
+    
+    private long   count    = 0;
+    private double minValue = Double.NaN;
+    private double maxValue = Double.NaN;
+    
+    public ConvergenceHistory(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        
+        this.iterations    = new int   [capacity];
+        this.values        = new double[capacity];
+        this.gradientNorms = new double[capacity];
+    }
+    
+    @Override
+    public synchronized void onIteration(int iteration, double value, double gradientNorm) {
+        var index = (int)(count % iterations.length);
+        iterations   [index] = iteration;
+        values       [index] = value;
+        gradientNorms[index] = gradientNorm;
+        
+        minValue = (count == 0) ? value : min(minValue, value);
+        maxValue = (count == 0) ? value : max(maxValue, value);
+        count++;
+    }
+    
+    /** The number of iterations seen -- including those no longer held. **/
+    public synchronized long totalCount() {
+        return count;
+    }
+    
+    /** The number of iterations held. **/
+    public synchronized int size() {
+        return (int)min(count, iterations.length);
+    }
+    
+    public synchronized double minValue() {
+        return minValue;
+    }
+    
+    public synchronized double maxValue() {
+        return maxValue;
+    }
+    
+    /** The value of the last iteration -- NaN if there is none. **/
+    public synchronized double lastValue() {
+        return (count == 0) ? Double.NaN : values[slot(size() - 1)];
+    }
+    
+    private int slot(int index) {
+        var first = count - size();
+        return (int)((first + index) % iterations.length);
+    }
+    
+    /** Write the held iterations as CSV with a header line. **/
+    public synchronized void writeCsv(Writer writer) throws IOException {
+        writer.write("iteration,value,gradientNorm\n");
+        for (int i = 0; i < size(); i++) {
+            var slot = slot(i);
+            writer.write(iterations[slot] + "," + values[slot] + "," + gradientNorms[slot] + "\n");
+        }
+        writer.flush();
+    }
+    
+    public void writeCsv(Path path) {
+        try (var writer = Files.newBufferedWriter(path)) {
+            writeCsv(writer);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+    
+    /** Chart of the value by iteration of the held iterations. **/
+    public synchronized XYChart toChart(String title) {
+        var size  = size();
+        var xData = new double[size];
+        var yData = new double[size];
+        for (int i = 0; i < size; i++) {
+            var slot = slot(i);
+            xData[i] = iterations[slot];
+            yData[i] = values    [slot];
+        }
+        var chart = new XYChartBuilder()
+                .width      (800)
+                .height     (600)
+                .title      (title)
+                .xAxisTitle ("iteration")
+                .yAxisTitle ("f")
+                .build      ();
+        chart.getStyler().setLegendVisible(false);
+        // XChart needs at least one point.
+        if (size == 0)
+             chart.addSeries("f", new double[] { 0 }, new double[] { 0 });
+        else chart.addSeries("f", xData, yData);
+        return chart;
+    }
+    
+    /** Write the chart as PNG -- no display is needed. **/
+    public void writePng(String title, OutputStream output) throws IOException {
+        BitmapEncoder.saveBitmap(toChart(title), output, BitmapFormat.PNG);
+    }
+    
+    public void writePng(String title, Path path) {
+        try (var output = Files.newOutputStream(path)) {
+            writePng(title, output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+    
+}
@@ -0,0 +1,20 @@
+package example.functionalj.numericalmethods.optimization;
+
+/** Be told about each iteration of an optimization as it happens -- on primitives so nothing is allocated. **/
+@FunctionalInterface
+public interface IterationListener {
+    
+    /** Listener that ignores everything. **/
+    public static final IterationListener none = (iteration, value, gradientNorm) -> {};
+    
+    public void onIteration(int iteration, double value, double gradientNorm);
+    
+    /** Tell this listener and then the other one. **/
+    public default IterationListener andThen(IterationListener other) {
+        return (iteration, value, gradientNorm) -> {
+            onIteration      (iteration, value, gradientNorm);
+            other.onIteration(iteration, value, gradientNorm);
+        };
+    }
+    
+}
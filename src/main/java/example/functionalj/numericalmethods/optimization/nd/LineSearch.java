@@ -0,0 +1,46 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+/**
+ * Decide how much of the proposed step to take.
+ * 
+ * The full step (alpha = 1) is tried first and then shrunk until it is accepted or the tries run out -- in which case
+ *   the last (smallest) step is taken.
+ **/
+@FunctionalInterface
+public interface LineSearch {
+    
+    /**
+     * Check if the step is acceptable.
+     * 
+     * @param value       the value at the current point.
+     * @param slope       the directional derivative along the proposed step (negative for a descent direction).
+     * @param alpha       the fraction of the proposed step tried.
+     * @param trialValue  the value at the point after the step.
+     * @return {@code true} if the step is acceptable.
+     **/
+    public boolean accept(double value, double slope, double alpha, double trialValue);
+    
+    /** The next alpha to try after the given one was rejected. **/
+    public default double shrink(double alpha) {
+        return alpha / 2;
+    }
+    
+    public default int maxTries() {
+        return 50;
+    }
+    
+    /** Always take the full step -- for the rules with a learning rate. **/
+    public static LineSearch none() {
+        return (value, slope, alpha, trialValue) -> true;
+    }
+    
+    /** Backtracking line search with the Armijo (sufficient decrease) condition. **/
+    public static LineSearch armijo() {
+        return armijo(1e-4);
+    }
+    
+    public static LineSearch armijo(double c1) {
+        return (value, slope, alpha, trialValue) -> trialValue <= value + c1*alpha*slope;
+    }
+    
+}
@@ -0,0 +1,28 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+import example.functionalj.numericalmethods.autodiff.DualFunc;
+
+/** Function to minimize -- evaluated together with its gradient. **/
+@FunctionalInterface
+public interface Objective {
+    
+    /** Evaluate at x -- the gradient is written to the given array and the value is returned. **/
+    public double valueAndGradient(double[] x, double[] gradient);
+    
+    /** Objective with the gradient from automatic differentiation. **/
+    public static Objective of(DualFunc function) {
+        return function::valueAndGradient;
+    }
+    
+    /** The negation of this objective -- minimizing it maximizes this one. **/
+    public default Objective negate() {
+        return (x, gradient) -> {
+            var value = valueAndGradient(x, gradient);
+            for (int i = 0; i < gradient.length; i++) {
+                gradient[i] = -gradient[i];
+            }
+            return -value;
+        };
+    }
+    
+}
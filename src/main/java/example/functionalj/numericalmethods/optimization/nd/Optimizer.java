@@ -0,0 +1,153 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.sqrt;
+
+import example.functionalj.numericalmethods.optimization.IterationListener;
+
+import functionalj.types.Struct;
+
+/**
+ * N-dimensional minimizer with a pluggable {@link UpdateRule} and {@link LineSearch}.
+ * 
+ * All the state is kept in primitive arrays that are allocated once per dimension and reused for every iteration --
+ *   so an optimizer is not thread-safe. Use one per thread.
+ **/
+public class Optimizer {
+    
+    /** When to stop -- a tolerance of 0 turns that criterion off. **/
+    @Struct
+    void StoppingCriteria(
+            int    maxIterations,
+            double valueTolerance,
+            double gradientTolerance,
+            double stepTolerance) {}
+    
+    /** The outcome of a minimization -- the solution itself is left in the array given to {@link #minimize}. **/
+    @Struct
+    void Convergence(
+            int        iterations,
+            int        evaluations,
+            double     value,
+            double     gradientNorm,
+            StopReason stopReason) {}
+    
+    /** Stop after 1000 iterations or when the gradient norm is within 1e-8. **/
+    public static StoppingCriteria defaultCriteria() {
+        return new StoppingCriteria(1000, 0.0, 1e-8, 0.0);
+    }
+    
+    private final UpdateRule       rule;
+    private final LineSearch       lineSearch;
+    private final StoppingCriteria criteria;
+    
+    private double[] gradient       = new double[0];
+    private double[] direction      = new double[0];
+    private double[] trialPoint     = new double[0];
+    private double[] trialGradient  = new double[0];
+    private double[] step           = new double[0];
+    private double[] gradientChange = new double[0];
+    
+    public Optimizer(UpdateRule rule) {
+        this(rule, LineSearch.none(), defaultCriteria());
+    }
+    
+    public Optimizer(UpdateRule rule, LineSearch lineSearch, StoppingCriteria criteria) {
+        if (criteria.maxIterations() < 0)
+            throw new IllegalArgumentException("maxIterations must not be negative: " + criteria.maxIterations());
+        
+        this.rule       = rule;
+        this.lineSearch = lineSearch;
+        this.criteria   = criteria;
+    }
+    
+    /**
+     * Minimize the objective starting from x.
+     * 
+     * @param objective  the function to minimize.
+     * @param x          the starting point -- it is updated in place and holds the solution at the end.
+     * @return the convergence information.
+     **/
+    public Convergence minimize(Objective objective, double[] x) {
+        return minimize(objective, x, IterationListener.none);
+    }
+    
+    /**
+     * Minimize the objective starting from x and tell the listener about every iteration (including the starting one).
+     * 
+     * @param objective  the function to minimize.
+     * @param x          the starting point -- it is updated in place and holds the solution at the end.
+     * @param listener   the listener to be told about each iteration.
+     * @return the convergence information.
+     **/
+    public Convergence minimize(Objective objective, double[] x, IterationListener listener) {
+        var dimension = x.length;
+        ensureBuffers(dimension);
+        rule.reset(dimension);
+        
+        var value       = objective.valueAndGradient(x, gradient);
+        var evaluations = 1;
+        var iteration   = 0;
+        while (true) {
+            var gradientNorm = sqrt(UpdateRules.dot(gradient, gradient));
+            listener.onIteration(iteration, value, gradientNorm);
+            if (gradientNorm <= criteria.gradientTolerance())
+                return new Convergence(iteration, evaluations, value, gradientNorm, StopReason.GRADIENT_TOLERANCE);
+            if (iteration >= criteria.maxIterations())
+                return new Convergence(iteration, evaluations, value, gradientNorm, StopReason.MAX_ITERATIONS);
+            
+            iteration++;
+            rule.direction(iteration, gradient, direction);
+            
+            var slope      = UpdateRules.dot(gradient, direction);
+            var alpha      = 1.0;
+            var trialValue = 0.0;
+            for (int tries = 1; ; tries++) {
+                for (int i = 0; i < dimension; i++) {
+                    trialPoint[i] = x[i] + alpha*direction[i];
+                }
+                trialValue = objective.valueAndGradient(trialPoint, trialGradient);
+                evaluations++;
+                if ((tries >= lineSearch.maxTries()) || lineSearch.accept(value, slope, alpha, trialValue))
+                    break;
+                
+                alpha = lineSearch.shrink(alpha);
+            }
+            
+            var stepSquare = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                step          [i] = trialPoint[i]    - x[i];
+                gradientChange[i] = trialGradient[i] - gradient[i];
+                x             [i] = trialPoint[i];
+                gradient      [i] = trialGradient[i];
+                stepSquare += step[i] * step[i];
+            }
+            rule.accepted(step, gradientChange);
+            
+            var change = abs(value - trialValue);
+            value = trialValue;
+            
+            var stopReason = (change           < criteria.valueTolerance()) ? StopReason.VALUE_TOLERANCE
+                           : (sqrt(stepSquare) < criteria.stepTolerance())  ? StopReason.STEP_TOLERANCE
+                           : null;
+            if (stopReason != null) {
+                var newGradientNorm = sqrt(UpdateRules.dot(gradient, gradient));
+                listener.onIteration(iteration, value, newGradientNorm);
+                return new Convergence(iteration, evaluations, value, newGradientNorm, stopReason);
+            }
+        }
+    }
+    
+    private void ensureBuffers(int dimension) {
+        if (gradient.length == dimension)
+            return;
+        
+        gradient       = new double[dimension];
+        direction      = new double[dimension];
+        trialPoint     = new double[dimension];
+        trialGradient  = new double[dimension];
+        step           = new double[dimension];
+        gradientChange = new double[dimension];
+    }
+    
+}
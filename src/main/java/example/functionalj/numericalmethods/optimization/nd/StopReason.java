@@ -0,0 +1,13 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+/** Why an optimization stopped. **/
+public enum StopReason {
+    /** The change of the value was within the tolerance. **/
+    VALUE_TOLERANCE,
+    /** The norm of the gradient was within the tolerance. **/
+    GRADIENT_TOLERANCE,
+    /** The norm of the step was within the tolerance. **/
+    STEP_TOLERANCE,
+    /** The maximum number of iterations was reached. **/
+    MAX_ITERATIONS;
+}
@@ -0,0 +1,50 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+/**
+ * How an {@link Optimizer} proposes the next step from the gradient.
+ * 
+ * A rule keeps its state in primitive arrays allocated by {@link #reset(int)} and reused for every iteration -- so a
+ *   rule instance must not be shared by optimizations running at the same time.
+ **/
+public interface UpdateRule {
+    
+    /** Prepare for a new optimization of the given dimension. **/
+    public void reset(int dimension);
+    
+    /** Write the proposed step (to be added to x) for the gradient at the current point. **/
+    public void direction(int iteration, double[] gradient, double[] direction);
+    
+    /** Be told about the step actually taken and the resulting change in the gradient. **/
+    public default void accepted(double[] step, double[] gradientChange) {
+    }
+    
+    /** Plain gradient descent: -rate*g. **/
+    public static UpdateRule gradientDescent(double learningRate) {
+        return new UpdateRules.GradientDescent(learningRate);
+    }
+    
+    /** Gradient descent with (heavy ball) momentum. **/
+    public static UpdateRule momentum(double learningRate, double momentum) {
+        return new UpdateRules.Momentum(learningRate, momentum);
+    }
+    
+    /** Nesterov accelerated gradient -- in the form that only needs the gradient at the current point. **/
+    public static UpdateRule nesterov(double learningRate, double momentum) {
+        return new UpdateRules.Nesterov(learningRate, momentum);
+    }
+    
+    /** Adam with the usual decay rates (0.9 and 0.999). **/
+    public static UpdateRule adam(double learningRate) {
+        return new UpdateRules.Adam(learningRate, 0.9, 0.999, 1e-8);
+    }
+    
+    public static UpdateRule adam(double learningRate, double beta1, double beta2, double epsilon) {
+        return new UpdateRules.Adam(learningRate, beta1, beta2, epsilon);
+    }
+    
+    /** Limited-memory BFGS remembering the given number of the last steps -- use it with a line search. **/
+    public static UpdateRule lbfgs(int memory) {
+        return new UpdateRules.LBFGS(memory);
+    }
+    
+}
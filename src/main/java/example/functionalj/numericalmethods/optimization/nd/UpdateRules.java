@@ -0,0 +1,231 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
+
+import java.util.Arrays;
+
+/** The implementations of {@link UpdateRule}. **/
+final class UpdateRules {
+    
+    static double dot(double[] a, double[] b) {
+        var sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+    
+    static final class GradientDescent implements UpdateRule {
+        
+        private final double learningRate;
+        
+        GradientDescent(double learningRate) {
+            this.learningRate = learningRate;
+        }
+        
+        @Override
+        public void reset(int dimension) {
+        }
+        
+        @Override
+        public void direction(int iteration, double[] gradient, double[] direction) {
+            for (int i = 0; i < gradient.length; i++) {
+                direction[i] = -learningRate * gradient[i];
+            }
+        }
+    }
+    
+    static final class Momentum implements UpdateRule {
+        
+        private final double learningRate;
+        private final double momentum;
+        
+        private double[] velocity = new double[0];
+        
+        Momentum(double learningRate, double momentum) {
+            this.learningRate = learningRate;
+            this.momentum     = momentum;
+        }
+        
+        @Override
+        public void reset(int dimension) {
+            velocity = ensure(velocity, dimension);
+        }
+        
+        @Override
+        public void direction(int iteration, double[] gradient, double[] direction) {
+            for (int i = 0; i < gradient.length; i++) {
+                direction[i] = momentum*velocity[i] - learningRate*gradient[i];
+            }
+        }
+        
+        @Override
+        public void accepted(double[] step, double[] gradientChange) {
+            // The velocity is the step actually taken so a line search is accounted for.
+            System.arraycopy(step, 0, velocity, 0, step.length);
+        }
+    }
+    
+    static final class Nesterov implements UpdateRule {
+        
+        private final double learningRate;
+        private final double momentum;
+        
+        private double[] velocity = new double[0];
+        
+        Nesterov(double learningRate, double momentum) {
+            this.learningRate = learningRate;
+            this.momentum     = momentum;
+        }
+        
+        @Override
+        public void reset(int dimension) {
+            velocity = ensure(velocity, dimension);
+        }
+        
+        @Override
+        public void direction(int iteration, double[] gradient, double[] direction) {
+            // v' = mv - rate*g;  step = -m*v + (1 + m)*v'
+            for (int i = 0; i < gradient.length; i++) {
+                var previous = velocity[i];
+                velocity [i] = momentum*previous - learningRate*gradient[i];
+                direction[i] = -momentum*previous + (1 + momentum)*velocity[i];
+            }
+        }
+    }
+    
+    static final class Adam implements UpdateRule {
+        
+        private final double learningRate;
+        private final double beta1;
+        private final double beta2;
+        private final double epsilon;
+        
+        private double[] firstMoment  = new double[0];
+        private double[] secondMoment = new double[0];
+        
+        Adam(double learningRate, double beta1, double beta2, double epsilon) {
+            this.learningRate = learningRate;
+            this.beta1        = beta1;
+            this.beta2        = beta2;
+            this.epsilon      = epsilon;
+        }
+        
+        @Override
+        public void reset(int dimension) {
+            firstMoment  = ensure(firstMoment,  dimension);
+            secondMoment = ensure(secondMoment, dimension);
+        }
+        
+        @Override
+        public void direction(int iteration, double[] gradient, double[] direction) {
+            var correction1 = 1 - pow(beta1, iteration);
+            var correction2 = 1 - pow(beta2, iteration);
+            for (int i = 0; i < gradient.length; i++) {
+                var g = gradient[i];
+                firstMoment [i] = beta1*firstMoment [i] + (1 - beta1)*g;
+                secondMoment[i] = beta2*secondMoment[i] + (1 - beta2)*g*g;
+                var m = firstMoment [i] / correction1;
+                var v = secondMoment[i] / correction2;
+                direction[i] = -learningRate * m / (sqrt(v) + epsilon);
+            }
+        }
+    }
+    
+    static final class LBFGS implements UpdateRule {
+        
+        private final int memory;
+        
+        // Ring buffers of the last steps (s), gradient changes (y) and 1/(y.s).
+        private double[][] steps           = new double[0][];
+        private double[][] gradientChanges = new double[0][];
+        private final double[] rhos;
+        private final double[] alphas;
+        
+        private int count;
+        private int next;
+        
+        LBFGS(int memory) {
+            if (memory < 1)
+                throw new IllegalArgumentException("memory must be positive: " + memory);
+            
+            this.memory = memory;
+            this.rhos   = new double[memory];
+            this.alphas = new double[memory];
+        }
+        
+        @Override
+        public void reset(int dimension) {
+            if ((steps.length != memory) || (steps[0].length != dimension)) {
+                steps           = new double[memory][dimension];
+                gradientChanges = new double[memory][dimension];
+            }
+            count = 0;
+            next  = 0;
+        }
+        
+        @Override
+        public void direction(int iteration, double[] gradient, double[] direction) {
+            // Two-loop recursion: direction = -H g.
+            for (int i = 0; i < gradient.length; i++) {
+                direction[i] = -gradient[i];
+            }
+            for (int k = 0; k < count; k++) {
+                var index = Math.floorMod(next - 1 - k, memory);
+                alphas[index] = rhos[index] * dot(steps[index], direction);
+                axpy(-alphas[index], gradientChanges[index], direction);
+            }
+            if (count > 0) {
+                var last  = Math.floorMod(next - 1, memory);
+                var yy    = dot(gradientChanges[last], gradientChanges[last]);
+                var gamma = 1.0 / (rhos[last] * yy);
+                for (int i = 0; i < direction.length; i++) {
+                    direction[i] *= gamma;
+                }
+            }
+            for (int k = count - 1; k >= 0; k--) {
+                var index = Math.floorMod(next - 1 - k, memory);
+                var beta  = rhos[index] * dot(gradientChanges[index], direction);
+                axpy(alphas[index] - beta, steps[index], direction);
+            }
+            
+            // Not a descent direction (should not happen with good curvature) -- start over from steepest descent.
+            if (dot(direction, gradient) >= 0) {
+                count = 0;
+                for (int i = 0; i < gradient.length; i++) {
+                    direction[i] = -gradient[i];
+                }
+            }
+        }
+        
+        @Override
+        public void accepted(double[] step, double[] gradientChange) {
+            var curvature = dot(step, gradientChange);
+            if (curvature <= 1e-12 * sqrt(dot(step, step) * dot(gradientChange, gradientChange)))
+                return;
+            
+            System.arraycopy(step,           0, steps[next],           0, step.length);
+            System.arraycopy(gradientChange, 0, gradientChanges[next], 0, gradientChange.length);
+            rhos[next] = 1.0 / curvature;
+            next  = (next + 1) % memory;
+            count = Math.min(count + 1, memory);
+        }
+        
+        private static void axpy(double a, double[] x, double[] y) {
+            for (int i = 0; i < y.length; i++) {
+                y[i] += a * x[i];
+            }
+        }
+    }
+    
+    /** Zeroed array of the dimension -- reusing the given one if it fits. **/
+    static double[] ensure(double[] array, int dimension) {
+        if (array.length != dimension)
+            return new double[dimension];
+        
+        Arrays.fill(array, 0.0);
+        return array;
+    }
+    
+}
@@ -0,0 +1,108 @@
+package example.functionalj.numericalmethods.optimization.oned;
+
+import static java.lang.Math.abs;
+
+/**
+ * Newton's method for many independent equations of the same parametric function at once.
+ * 
+ * Each lane is one parameter and one initial guess. All the lanes are iterated together: every round evaluates the
+ *   function of the lanes that are still active in one tight loop and then retires the lanes that have converged (or
+ *   run out of iterations) from the active list -- so the work shrinks with the number of unsolved lanes.
+ * 
+ * The iterations of each lane are exactly those of {@link PrimitiveRootFinder#newton()} with
+ *   {@link PrimitiveRootFinder.Termination#DROP_AFTER} -- which are those of the FuncList pipeline in
+ *   {@link NewtonRaphsonMethod}.
+ * 
+ * The scratch buffers are kept between solves so a finder is not thread-safe -- use one per thread.
+ **/
+final class BatchRootFinder {
+    
+    /** A function of x with one extra parameter. **/
+    @FunctionalInterface
+    static interface ParametricFunc {
+        double apply(double x, double parameter);
+    }
+    
+    private final ParametricFunc func;
+    private final ParametricFunc diff;
+    private final double         epsilon;
+    private final int            maxLoop;
+    
+    private int[]    lanes = new int[0];
+    private double[] xs    = new double[0];
+    private double[] fxs   = new double[0];
+    private double[] dfxs  = new double[0];
+    
+    BatchRootFinder(ParametricFunc func, ParametricFunc diff, double epsilon, int maxLoop) {
+        if (maxLoop < 1)
+            throw new IllegalArgumentException("maxLoop must be positive: " + maxLoop);
+        
+        this.func    = func;
+        this.diff    = diff;
+        this.epsilon = epsilon;
+        this.maxLoop = maxLoop;
+    }
+    
+    /**
+     * Solve all the lanes.
+     * 
+     * @param parameters     the parameter of each lane.
+     * @param initialGuesses the x0 of each lane.
+     * @param roots          receives the last x of each lane.
+     * @param iterations     receives the number of iterations of each lane (including the initial one).
+     * @return the number of lanes that converged -- the others stopped at maxLoop.
+     **/
+    int solve(double[] parameters, double[] initialGuesses, double[] roots, int[] iterations) {
+        var laneCount = parameters.length;
+        if ((initialGuesses.length != laneCount) || (roots.length != laneCount) || (iterations.length != laneCount))
+            throw new IllegalArgumentException("All the arrays must have the same length: " + laneCount);
+        
+        ensureCapacity(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes[lane] = lane;
+            xs   [lane] = initialGuesses[lane];
+        }
+        
+        var converged   = 0;
+        var activeCount = laneCount;
+        for (int iteration = 1; activeCount > 0; iteration++) {
+            // Evaluate all the active lanes -- kept in a loop of its own so it is as tight as possible.
+            for (int i = 0; i < activeCount; i++) {
+                var lane  = lanes[i];
+                var x     = xs[lane];
+                var param = parameters[lane];
+                fxs [i] = func.apply(x, param);
+                dfxs[i] = diff.apply(x, param);
+            }
+            
+            // Retire the converged lanes and update the rest.
+            var stillActive = 0;
+            for (int i = 0; i < activeCount; i++) {
+                var lane   = lanes[i];
+                var isDone = abs(fxs[i]) < epsilon;
+                if (isDone || (iteration >= maxLoop)) {
+                    roots     [lane] = xs[lane];
+                    iterations[lane] = iteration;
+                    if (isDone)
+                        converged++;
+                } else {
+                    xs[lane] = xs[lane] - fxs[i] / dfxs[i];
+                    lanes[stillActive++] = lane;
+                }
+            }
+            activeCount = stillActive;
+        }
+        return converged;
+    }
+    
+    private void ensureCapacity(int laneCount) {
+        if (lanes.length >= laneCount)
+            return;
+        
+        lanes = new int   [laneCount];
+        xs    = new double[laneCount];
+        fxs   = new double[laneCount];
+        dfxs  = new double[laneCount];
+    }
+    
+}
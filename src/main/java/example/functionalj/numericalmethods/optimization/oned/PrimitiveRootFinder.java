@@ -0,0 +1,151 @@
+package example.functionalj.numericalmethods.optimization.oned;
+
+import static java.lang.Math.abs;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Root finding over primitive double -- the same iterations as the FuncList pipeline in {@link NewtonRaphsonMethod}
+ *   but without boxing, without an {@link Iteration} per step and without keeping the iterations.
+ * 
+ * A finder is meant to be reused: {@link #solve(double)} allocates nothing and the result of the last solve is read
+ *   from {@link #x()}, {@link #fx()} and {@link #dfx()}. A finder is not thread-safe -- use one per thread.
+ **/
+final class PrimitiveRootFinder {
+    
+    /** Calculate the next x from the current iteration. **/
+    @FunctionalInterface
+    static interface Update {
+        double next(double x, double fx, double dfx);
+    }
+    
+    /** Newton's update: x - f(x)/f'(x). **/
+    static Update newton() {
+        return (x, fx, dfx) -> x - fx / dfx;
+    }
+    
+    /** Gradient update with a fixed learning rate: x - rate*f(x). **/
+    static Update gradient(double learningRate) {
+        return (x, fx, dfx) -> x - learningRate*fx;
+    }
+    
+    /** How the converged iteration is treated -- named after the FuncList operation with the same behavior. **/
+    static enum Termination {
+        /** Stop after the converged iteration -- it is the result. **/
+        DROP_AFTER,
+        /** Stop before the converged iteration -- the one before it is the result. **/
+        TAKE_UNTIL;
+    }
+    
+    private final DoubleUnaryOperator func;
+    private final DoubleUnaryOperator diff;
+    private final Update              update;
+    private final Termination         termination;
+    private final double              epsilon;
+    private final int                 maxLoop;
+    private final RootFindingTrace    trace;
+    
+    private int    iterations;
+    private double x;
+    private double fx;
+    private double dfx;
+    
+    PrimitiveRootFinder(
+            DoubleUnaryOperator func,
+            DoubleUnaryOperator diff,
+            Update              update,
+            Termination         termination,
+            double              epsilon,
+            int                 maxLoop) {
+        this(func, diff, update, termination, epsilon, maxLoop, 0);
+    }
+    
+    /** @param traceCapacity  the number of the last iterations to keep for diagnostics -- 0 for no trace. **/
+    PrimitiveRootFinder(
+            DoubleUnaryOperator func,
+            DoubleUnaryOperator diff,
+            Update              update,
+            Termination         termination,
+            double              epsilon,
+            int                 maxLoop,
+            int                 traceCapacity) {
+        if (maxLoop < 1)
+            throw new IllegalArgumentException("maxLoop must be positive: " + maxLoop);
+        
+        this.func        = func;
+        this.diff        = diff;
+        this.update      = update;
+        this.termination = termination;
+        this.epsilon     = epsilon;
+        this.maxLoop     = maxLoop;
+        this.trace       = (traceCapacity > 0) ? new RootFindingTrace(traceCapacity) : null;
+    }
+    
+    /**
+     * Iterate from x0 and return the number of iterations (including the initial one) -- as the size of the FuncList.
+     * 
+     * With {@link Termination#TAKE_UNTIL}, 0 is returned if x0 is already a root and x0 is kept as the result.
+     **/
+    int solve(double x0) {
+        if (trace != null)
+            trace.clear();
+        
+        x          = x0;
+        fx         = func.applyAsDouble(x0);
+        dfx        = diff.applyAsDouble(x0);
+        iterations = 0;
+        
+        if (abs(fx) < epsilon) {
+            if (termination == Termination.DROP_AFTER)
+                accept(x, fx, dfx);
+            return iterations;
+        }
+        accept(x, fx, dfx);
+        
+        while (iterations < maxLoop) {
+            var nextX   = update.next(x, fx, dfx);
+            var nextFx  = func.applyAsDouble(nextX);
+            var nextDfx = diff.applyAsDouble(nextX);
+            var isDone  = abs(nextFx) < epsilon;
+            if (isDone && (termination == Termination.TAKE_UNTIL))
+                break;
+            
+            accept(nextX, nextFx, nextDfx);
+            if (isDone)
+                break;
+        }
+        return iterations;
+    }
+    
+    private void accept(double newX, double newFx, double newDfx) {
+        x   = newX;
+        fx  = newFx;
+        dfx = newDfx;
+        iterations++;
+        if (trace != null)
+            trace.record(newX, newFx, newDfx);
+    }
+    
+    /** The number of iterations of the last solve. **/
+    int iterations() {
+        return iterations;
+    }
+    
+    double x() {
+        return x;
+    }
+    
+    double fx() {
+        return fx;
+    }
+    
+    double dfx() {
+        return dfx;
+    }
+    
+    /** The trace of the last solve -- null if this finder does not trace. **/
+    RootFindingTrace trace() {
+        return trace;
+    }
+    
+}
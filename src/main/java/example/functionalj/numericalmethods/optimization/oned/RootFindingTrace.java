@@ -0,0 +1,79 @@
+package example.functionalj.numericalmethods.optimization.oned;
+
+/**
+ * Bounded trace of the last iterations of a {@link PrimitiveRootFinder}.
+ * 
+ * The buffers are allocated once so recording does not allocate -- older iterations are overwritten.
+ **/
+final class RootFindingTrace {
+    
+    private final double[] xs;
+    private final double[] fxs;
+    private final double[] dfxs;
+    
+    private long count = 0;
+    
+    RootFindingTrace(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        
+        this.xs   = new double[capacity];
+        this.fxs  = new double[capacity];
+        this.dfxs = new double[capacity];
+    }
+    
+    void clear() {
+        count = 0;
+    }
+    
+    void record(double x, double fx, double dfx) {
+        var index = (int)(count % xs.length);
+        xs  [index] = x;
+        fxs [index] = fx;
+        dfxs[index] = dfx;
+        count++;
+    }
+    
+    /** The number of iterations recorded since the last clear -- including those already overwritten. **/
+    long totalCount() {
+        return count;
+    }
+    
+    /** The number of iterations still held. **/
+    int size() {
+        return (int)Math.min(count, xs.length);
+    }
+    
+    /** The x of the held iteration at the index (0 is the oldest one still held). **/
+    double x(int index) {
+        return xs[slot(index)];
+    }
+    
+    double fx(int index) {
+        return fxs[slot(index)];
+    }
+    
+    double dfx(int index) {
+        return dfxs[slot(index)];
+    }
+    
+    private int slot(int index) {
+        if ((index < 0) || (index >= size()))
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        
+        var first = count - size();
+        return (int)((first + index) % xs.length);
+    }
+    
+    @Override
+    public String toString() {
+        var buffer = new StringBuilder("RootFindingTrace[");
+        for (int i = 0; i < size(); i++) {
+            if (i != 0)
+                buffer.append(", ");
+            buffer.append("(x: ").append(x(i)).append(", fx: ").append(fx(i)).append(", dfx: ").append(dfx(i)).append(")");
+        }
+        return buffer.append("]").toString();
+    }
+    
+}
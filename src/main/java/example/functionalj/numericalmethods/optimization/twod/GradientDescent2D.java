@@ -1,15 +1,21 @@
 package example.functionalj.numericalmethods.optimization.twod;
 
-import static example.functionalj.numericalmethods.optimization.twod.Iteration.theIteration;
 import static functionalj.list.FuncList.iterate;
 import static java.lang.Math.abs;
+import static java.lang.Math.hypot;
+
+import java.awt.GraphicsEnvironment;
+import java.nio.file.Paths;
 
-import org.knowm.xchart.QuickChart;
 import org.knowm.xchart.SwingWrapper;
-import org.knowm.xchart.XYChart;
+
+import example.functionalj.numericalmethods.MemoizedFunc2;
+import example.functionalj.numericalmethods.autodiff.Dual;
+import example.functionalj.numericalmethods.optimization.ConvergenceHistory;
+import example.functionalj.numericalmethods.optimization.IterationListener;
 
 import functionalj.function.Func2;
-import functionalj.list.intlist.IntFuncList;
+import functionalj.list.FuncList;
 import functionalj.types.Struct;
 
 
@@ -17,6 +23,11 @@ public class GradientDescent2D {
     
     static interface XYFunc extends Func2<Double, Double, Double> {}
     
+    /** XYFunc written with dual numbers for automatic differentiation. **/
+    static interface XYDualFunc {
+        Dual apply(Dual x, Dual y);
+    }
+    
     @Struct
     void DiffertiableFunction(
             XYFunc func, 
@@ -43,6 +54,15 @@ public class GradientDescent2D {
                 .build  ();
     }
     
+    /**
+     * Differentiable function with the function memoized -- f(x, y) is needed by func, dfdx and dfdy alike but is
+     *   only evaluated once.
+     **/
+    static DiffertiableFunction differtiableFunction(XYFunc func, double delta, int cacheCapacity) {
+        var memoized = new MemoizedFunc2(func, cacheCapacity);
+        return differtiableFunction(memoized::apply, delta);
+    }
+    
     static Iteration newIteration(Double x, Double y, DiffertiableFunction function) {
         return new Iteration(
                 x, y,
@@ -51,6 +71,85 @@ public class GradientDescent2D {
                 function.dfdy().apply(x, y));
     }
     
+    /** Evaluate the function once -- the gradient comes exact from the same evaluation. **/
+    static Iteration newIteration(double x, double y, XYDualFunc function) {
+        var result = function.apply(Dual.variable(x, 0, 2), Dual.variable(y, 1, 2));
+        return new Iteration(x, y, result.value(), result.derivative(0), result.derivative(1));
+    }
+    
+    static FuncList<Iteration> iterations(
+            DiffertiableFunction function,
+            double               x0,
+            double               y0,
+            double               stepSize,
+            double               epsilon,
+            int                  maxLoop) {
+        return iterationsOf((x, y) -> newIteration(x, y, function), x0, y0, stepSize, epsilon, maxLoop);
+    }
+    
+    static FuncList<Iteration> iterations(
+            XYDualFunc function,
+            double     x0,
+            double     y0,
+            double     stepSize,
+            double     epsilon,
+            int        maxLoop) {
+        return iterationsOf((x, y) -> newIteration(x, y, function), x0, y0, stepSize, epsilon, maxLoop);
+    }
+    
+    static FuncList<Iteration> iterationsOf(
+            Func2<Double, Double, Iteration> evaluate,
+            double                           x0,
+            double                           y0,
+            double                           stepSize,
+            double                           epsilon,
+            int                              maxLoop) {
+        var iteration0 = evaluate.apply(x0, y0);
+        return iterate    (iteration0, iter -> nextIteration(iter, stepSize, evaluate))
+                .dropAfter((prev, iter) -> isConverged(prev, iter, epsilon))
+                .limit    (maxLoop)
+                .toList()
+                ;
+    }
+    
+    /**
+     * The same descent as {@link #iterations} but each iteration is given to the listener as it is calculated and only
+     *   the last one is kept -- so the memory used does not grow with the number of iterations.
+     **/
+    static Iteration descend(
+            DiffertiableFunction function,
+            double               x0,
+            double               y0,
+            double               stepSize,
+            double               epsilon,
+            int                  maxLoop,
+            IterationListener    listener) {
+        Func2<Double, Double, Iteration> evaluate = (x, y) -> newIteration(x, y, function);
+        var iter = evaluate.apply(x0, y0);
+        listener.onIteration(0, iter.fxy, hypot(iter.dfx, iter.dfy));
+        for (int index = 1; index < maxLoop; index++) {
+            var next = nextIteration(iter, stepSize, evaluate);
+            listener.onIteration(index, next.fxy, hypot(next.dfx, next.dfy));
+            
+            var converged = isConverged(iter, next, epsilon);
+            iter = next;
+            if (converged)
+                break;
+        }
+        return iter;
+    }
+    
+    /** The update -- a step along the gradient. **/
+    static Iteration nextIteration(Iteration iter, double stepSize, Func2<Double, Double, Iteration> evaluate) {
+        var newX = iter.x + stepSize*iter.dfx;
+        var newY = iter.y + stepSize*iter.dfy;
+        return evaluate.apply(newX, newY);
+    }
+    
+    static boolean isConverged(Iteration prev, Iteration iter, double epsilon) {
+        return abs(prev.fxy - iter.fxy) < epsilon;
+    }
+    
     public static void main(String[] args) {
         var startTime = System.currentTimeMillis();
         
@@ -62,20 +161,9 @@ public class GradientDescent2D {
         var epsilon  = 1.0e-10;
         var maxLoop  = 100;
         
-        var iteration0 = newIteration(x0, y0, function);
-        var iterations =
-                iterate(iteration0, iter -> {
-                    var newX = iter.x + stepSize*iter.dfx;
-                    var newY = iter.y + stepSize*iter.dfy;
-                    return newIteration(newX, newY, function);
-                })
-                .dropAfter((prev, iter) -> abs(prev.fxy - iter.fxy) < epsilon)
-                .limit    (maxLoop)
-                .toList()
-                ;
-        
-        var calculated = iterations.lastResult().get();
-        System.out.printf("Newton (%3d iterations): %s\n", iterations.size(), calculated);
+        var history    = new ConvergenceHistory(maxLoop);
+        var calculated = descend(function, x0, y0, stepSize, epsilon, maxLoop, history);
+        System.out.printf("Newton (%3d iterations): %s\n", history.totalCount(), calculated);
         
         Iteration exact = newIteration(2.0, 1.0, function);
         System.out.printf("   %10s vs %10s => %10s\n", "Calculated",   "Exact  ",   "Error  ");
@@ -85,11 +173,16 @@ public class GradientDescent2D {
         
         System.out.printf("Calculation time: %d ms\n", System.currentTimeMillis() - startTime);
         
-        var xData = IntFuncList.wholeNumbers(iterations.size()).mapToDouble().boxed();
-        var yData = iterations.mapToDouble(theIteration.fxy).boxed();
-        
-        XYChart chart = QuickChart.getChart("Gradient Descent 2D", "iteration", "f", "f", xData, yData);
-        new SwingWrapper<>(chart).displayChart();
+        var title = "Gradient Descent 2D";
+        if (GraphicsEnvironment.isHeadless()) {
+            // No display -- save the chart and the data instead.
+            var outputPrefix = (args.length > 0) ? args[0] : "gradient-descent-2d";
+            history.writePng(title, Paths.get(outputPrefix + ".png"));
+            history.writeCsv(       Paths.get(outputPrefix + ".csv"));
+            System.out.printf("Chart saved to: %s.png\n", outputPrefix);
+        } else {
+            new SwingWrapper<>(history.toChart(title)).displayChart();
+        }
     }
     
 }
@@ -0,0 +1,190 @@
+package example.functionalj.numericalmethods.optimization.twod;
+
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.isConverged;
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.newIteration;
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.nextIteration;
+import static java.lang.Math.abs;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+import example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.XYDualFunc;
+
+import functionalj.function.Func2;
+import functionalj.list.FuncList;
+import functionalj.types.Struct;
+
+/**
+ * Run the gradient ascent of {@link GradientDescent2D} from many starting points at once and keep the best.
+ * 
+ * By default every start runs to the end so the best is the best of all the starts, however many threads are used.
+ * 
+ * Early cancellation is opt-in and approximate. The starts share the best value seen so far and a start is dropped
+ *   once it probably cannot beat it: its changes in f are assumed to shrink geometrically, so the sum of the
+ *   remaining changes is estimated from the ratio of the last two -- if even a generous multiple of that cannot
+ *   reach the best, the start is cancelled. Nothing bounds the gain of a general function, so a start that plateaus
+ *   and then speeds up may be dropped even if it would have been the best -- and which starts are dropped depends
+ *   on the order the threads run them.
+ * 
+ * Each start runs exactly the iterations of {@link GradientDescent2D#iterations} (until it is cancelled) so the
+ *   result of a start that runs to the end is the same as running it alone.
+ **/
+public class MultiStartGradientDescent {
+    
+    @Struct
+    void StartPoint(double x, double y) {}
+    
+    @Struct
+    void StartStatistics(
+            int        index,
+            StartPoint start,
+            int        iterations,
+            boolean    cancelled,
+            Iteration  last) {}
+    
+    @Struct
+    void MultiStartResult(
+            Iteration                 best,
+            int                       bestIndex,
+            FuncList<StartStatistics> starts) {}
+    
+    /** Iterations a start always runs before it can be cancelled (with early cancellation). **/
+    static final int    DEFAULT_MIN_ITERATIONS = 5;
+    /** How many times the estimated remaining improvement a start is given before it is cancelled. **/
+    static final double DEFAULT_SLACK          = 10.0;
+    
+    private final double   stepSize;
+    private final double   epsilon;
+    private final int      maxLoop;
+    private final Executor executor;
+    private final boolean  cancelEarly;
+    private final int      minIterations;
+    private final double   slack;
+    
+    /** Use the common fork/join pool -- pass a virtual-thread executor to the other constructor where available. **/
+    MultiStartGradientDescent(double stepSize, double epsilon, int maxLoop) {
+        this(stepSize, epsilon, maxLoop, ForkJoinPool.commonPool());
+    }
+    
+    /** Run every start to the end on the executor. **/
+    MultiStartGradientDescent(double stepSize, double epsilon, int maxLoop, Executor executor) {
+        this(stepSize, epsilon, maxLoop, executor, false, DEFAULT_MIN_ITERATIONS, DEFAULT_SLACK);
+    }
+    
+    /** Cancel the starts that probably cannot beat the best -- approximate, see the class comment. **/
+    MultiStartGradientDescent(
+            double   stepSize,
+            double   epsilon,
+            int      maxLoop,
+            Executor executor,
+            int      minIterations,
+            double   slack) {
+        this(stepSize, epsilon, maxLoop, executor, true, minIterations, slack);
+    }
+    
+    private MultiStartGradientDescent(
+            double   stepSize,
+            double   epsilon,
+            int      maxLoop,
+            Executor executor,
+            boolean  cancelEarly,
+            int      minIterations,
+            double   slack) {
+        this.stepSize      = stepSize;
+        this.epsilon       = epsilon;
+        this.maxLoop       = maxLoop;
+        this.executor      = executor;
+        this.cancelEarly   = cancelEarly;
+        this.minIterations = minIterations;
+        this.slack         = slack;
+    }
+    
+    MultiStartResult maximize(DiffertiableFunction function, List<StartPoint> starts) {
+        return maximize((x, y) -> newIteration(x, y, function), starts);
+    }
+    
+    MultiStartResult maximize(XYDualFunc function, List<StartPoint> starts) {
+        return maximize((x, y) -> newIteration(x, y, function), starts);
+    }
+    
+    private MultiStartResult maximize(Func2<Double, Double, Iteration> evaluate, List<StartPoint> starts) {
+        if (starts.isEmpty())
+            throw new IllegalArgumentException("No start point.");
+        
+        var bestValue = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+        var futures   = new CompletableFuture<?>[starts.size()];
+        var results   = new StartStatistics[starts.size()];
+        for (int i = 0; i < starts.size(); i++) {
+            var index = i;
+            var start = starts.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                results[index] = run(index, start, evaluate, bestValue);
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        
+        var bestIndex = bestIndex(results, false);
+        if (bestIndex == -1)
+            bestIndex = bestIndex(results, true);
+        return new MultiStartResult(results[bestIndex].last, bestIndex, FuncList.of(results));
+    }
+    
+    private static int bestIndex(StartStatistics[] results, boolean includeCancelled) {
+        var bestIndex = -1;
+        for (int i = 0; i < results.length; i++) {
+            var result = results[i];
+            if (result.cancelled && !includeCancelled)
+                continue;
+            if ((bestIndex == -1) || (result.last.fxy > results[bestIndex].last.fxy))
+                bestIndex = i;
+        }
+        return bestIndex;
+    }
+    
+    /** The loop of {@link GradientDescent2D#iterations} with the (opt-in) cancellation check. **/
+    private StartStatistics run(
+            int                              index,
+            StartPoint                       start,
+            Func2<Double, Double, Iteration> evaluate,
+            DoubleAccumulator                bestValue) {
+        var iteration      = evaluate.apply(start.x, start.y);
+        var count          = 1;
+        var previousChange = Double.NaN;
+        bestValue.accumulate(iteration.fxy);
+        while (count < maxLoop) {
+            var next = nextIteration(iteration, stepSize, evaluate);
+            count++;
+            
+            var change      = abs(next.fxy - iteration.fxy);
+            var isConverged = isConverged(iteration, next, epsilon);
+            iteration = next;
+            if (isConverged)
+                break;
+            
+            bestValue.accumulate(iteration.fxy);
+            if (cancelEarly && (count >= minIterations) && probablyCannotBeatBest(iteration.fxy, change, previousChange, bestValue.get()))
+                return new StartStatistics(index, start, count, true, iteration);
+            
+            previousChange = change;
+        }
+        bestValue.accumulate(iteration.fxy);
+        return new StartStatistics(index, start, count, false, iteration);
+    }
+    
+    /** The geometric estimate of the remaining gain -- a guess, not a bound. **/
+    private boolean probablyCannotBeatBest(double value, double change, double previousChange, double best) {
+        if (Double.isNaN(previousChange) || (best == Double.NEGATIVE_INFINITY))
+            return false;
+        
+        var ratio = change / previousChange;
+        if (ratio >= 1.0)
+            return false;
+        
+        var remaining = change * ratio / (1.0 - ratio);
+        return value + slack*remaining < best;
+    }
+    
+}
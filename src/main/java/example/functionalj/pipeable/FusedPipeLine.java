@@ -0,0 +1,81 @@
+package example.functionalj.pipeable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import functionalj.function.Func1;
+import functionalj.pipeable.PipeLine;
+
+/**
+ * A pipeline folded into one function.
+ * 
+ * {@link #fuse(PipeLine)} takes a finished {@code PipeLine.of(...).then(...).thenReturn()} and composes its stages
+ *   once -- each stage wrapped around the next as its own closure, like {@code f2.compose(f1)} -- so a run is a chain
+ *   of calls specific to this pipeline rather than the shared loop over the stages of {@link PipeLine}.
+ * The result is the same as the staged pipeline: each wrapper skips the rest of the stages on a null and an exception
+ *   goes to the pipeline's catch handler (a null result by default).
+ * 
+ * {@link PipeLine} does not expose its stages so they are read reflectively -- only pipelines started with
+ *   {@code PipeLine.of} are supported, not the null-safe ones.
+ **/
+public class FusedPipeLine<INPUT, OUTPUT> implements Func1<INPUT, OUTPUT> {
+    
+    private final Func1<Object, Object>    fused;
+    private final Func1<Exception, OUTPUT> catchHandler;
+    
+    private FusedPipeLine(Func1<Object, Object> fused, Func1<Exception, OUTPUT> catchHandler) {
+        this.fused        = fused;
+        this.catchHandler = catchHandler;
+    }
+    
+    /** Compose the stages of the pipeline into one function. **/
+    public static <I, O> FusedPipeLine<I, O> fuse(PipeLine<I, O> pipeLine) {
+        List<?>             stages       = null;
+        Func1<Exception, O> catchHandler = null;
+        for (var field : PipeLine.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()))
+                continue;
+            if (List.class.isAssignableFrom(field.getType()))
+                stages = (List<?>)read(field, pipeLine);
+            else if (Func1.class.isAssignableFrom(field.getType())) {
+                @SuppressWarnings("unchecked")
+                var handler = (Func1<Exception, O>)read(field, pipeLine);
+                catchHandler = handler;
+            }
+        }
+        if (stages == null)
+            throw new IllegalArgumentException("No stages found in the pipeline: " + pipeLine);
+        
+        // From the last stage back -- each wrapper runs its stage and hands the value to the rest.
+        Func1<Object, Object> fused = value -> value;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            var stage = (Func1<Object, Object>)stages.get(i);
+            var rest  = fused;
+            fused = value -> (value == null) ? null : rest.applyUnsafe(stage.applyUnsafe(value));
+        }
+        return new FusedPipeLine<I, O>(fused, catchHandler);
+    }
+    
+    private static Object read(Field field, Object target) {
+        try {
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            throw new IllegalArgumentException("Cannot read the stages of the pipeline: " + target, exception);
+        }
+    }
+    
+    @Override
+    public OUTPUT applyUnsafe(INPUT input) {
+        try {
+            @SuppressWarnings("unchecked")
+            var output = (OUTPUT)fused.applyUnsafe(input);
+            return output;
+        } catch (Exception exception) {
+            return (catchHandler == null) ? null : catchHandler.apply(exception);
+        }
+    }
+    
+}
@@ -0,0 +1,139 @@
+package example.functionalj.promise;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import functionalj.function.Func1;
+import functionalj.list.FuncList;
+import functionalj.promise.Promise;
+import functionalj.result.Result;
+import functionalj.stream.StreamPlus;
+
+/**
+ * Run a promise-producing load over many inputs with at most {@code parallelism} of them in flight.
+ * 
+ * The inputs are pulled lazily -- the next load only starts when the consumer takes a result and frees a slot -- so
+ *   a list of half a million file names never has more than {@code parallelism} files open.
+ * The results come back as {@link Result}s so a failed load is just another element in the stream.
+ **/
+public class BoundedLoader<INPUT, OUTPUT> {
+    
+    private final int                                             parallelism;
+    private final Func1<? super INPUT, ? extends Promise<OUTPUT>> load;
+    
+    public BoundedLoader(int parallelism, Func1<? super INPUT, ? extends Promise<OUTPUT>> load) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        
+        this.parallelism = parallelism;
+        this.load        = load;
+    }
+    
+    /** The results in the order of the inputs -- a slow load holds back the ones after it. **/
+    public StreamPlus<Result<OUTPUT>> inOrder(FuncList<INPUT> inputs) {
+        return inOrder(inputs.stream());
+    }
+    
+    /** The results in the order of the inputs -- a slow load holds back the ones after it. **/
+    public StreamPlus<Result<OUTPUT>> inOrder(StreamPlus<INPUT> inputs) {
+        return streamOf(new InOrder(inputs.iterator()));
+    }
+    
+    /** The results in the order the loads complete. **/
+    public StreamPlus<Result<OUTPUT>> asCompleted(FuncList<INPUT> inputs) {
+        return asCompleted(inputs.stream());
+    }
+    
+    /** The results in the order the loads complete. **/
+    public StreamPlus<Result<OUTPUT>> asCompleted(StreamPlus<INPUT> inputs) {
+        return streamOf(new AsCompleted(inputs.iterator()));
+    }
+    
+    private static <D> StreamPlus<D> streamOf(Iterator<D> iterator) {
+        var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamPlus.from(StreamSupport.stream(spliterator, false));
+    }
+    
+    private void start(INPUT input, Consumer<Result<OUTPUT>> onDone) {
+        Promise<OUTPUT> promise;
+        try {
+            promise = load.apply(input);
+        } catch (RuntimeException exception) {
+            // Failing to start is reported in the same channel as failing to load.
+            onDone.accept(Result.ofException(exception));
+            return;
+        }
+        promise.onComplete(result -> onDone.accept(result));
+    }
+    
+    private class InOrder implements Iterator<Result<OUTPUT>> {
+        
+        private final Iterator<INPUT>                               inputs;
+        private final ArrayDeque<CompletableFuture<Result<OUTPUT>>> inFlight = new ArrayDeque<>();
+        
+        InOrder(Iterator<INPUT> inputs) {
+            this.inputs = inputs;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (inFlight.size() < parallelism && inputs.hasNext()) {
+                var future = new CompletableFuture<Result<OUTPUT>>();
+                inFlight.add(future);
+                start(inputs.next(), future::complete);
+            }
+            return !inFlight.isEmpty();
+        }
+        
+        @Override
+        public Result<OUTPUT> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            
+            return inFlight.poll().join();
+        }
+    }
+    
+    private class AsCompleted implements Iterator<Result<OUTPUT>> {
+        
+        private final Iterator<INPUT>                     inputs;
+        private final LinkedBlockingQueue<Result<OUTPUT>> completed = new LinkedBlockingQueue<>();
+        private int                                       inFlight  = 0;
+        
+        AsCompleted(Iterator<INPUT> inputs) {
+            this.inputs = inputs;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (inFlight < parallelism && inputs.hasNext()) {
+                inFlight++;
+                start(inputs.next(), completed::add);
+            }
+            return inFlight != 0;
+        }
+        
+        @Override
+        public Result<OUTPUT> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            
+            try {
+                var result = completed.take();
+                inFlight--;
+                return result;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a load.", exception);
+            }
+        }
+    }
+    
+}
@@ -1,6 +0,0 @@
-package example.functionalj.promise;
-
-// TODO - Add this.
-public class PromiseExamples {
-    
-}
@@ -0,0 +1,173 @@
+package example.functionalj.promise;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import functionalj.list.FuncList;
+import functionalj.promise.DeferAction;
+import functionalj.promise.PendingAction;
+import functionalj.promise.Promise;
+
+/**
+ * Fan-out/fan-in of loads as promises.
+ * 
+ * All the loads are started at once on the executor -- each with its own promise. The combined promise completes with
+ *   all the values (in the order of the loads) when the last one is done. The first failure, the timeout or a
+ *   {@link #cancel()} settles the combined promise with that exception and interrupts the loads still running.
+ **/
+public class PromiseFanIn<DATA> {
+    
+    private final PendingAction<FuncList<DATA>> combined = DeferAction.<FuncList<DATA>>createNew().start();
+    private final AtomicBoolean                 isDone   = new AtomicBoolean(false);
+    
+    private final FuncList<Promise<DATA>>         promises;
+    private final PendingAction<?>[]              pendings;
+    private final AtomicIntegerArray              settled;
+    private final AtomicReferenceArray<Future<?>> running;
+    private final ScheduledFuture<?>              timeout;
+    
+    private PromiseFanIn(
+            List<? extends Callable<DATA>> loads,
+            ExecutorService                executor,
+            ScheduledExecutorService       timer,
+            long                           timeoutDuration,
+            TimeUnit                       timeoutUnit) {
+        var count        = loads.size();
+        var values       = new Object[count];
+        var remaining    = new AtomicInteger(count);
+        var loadPromises = new Promise<?>[count];
+        
+        // Everything settle touches is in place before the first load can finish -- so it can always cancel the timer
+        //   and fail every load.
+        this.pendings = new PendingAction<?>[count];
+        this.settled  = new AtomicIntegerArray(count);
+        this.running  = new AtomicReferenceArray<Future<?>>(count);
+        for (int i = 0; i < count; i++) {
+            var pending = DeferAction.<DATA>createNew().start();
+            pendings    [i] = pending;
+            loadPromises[i] = pending.getPromise();
+        }
+        
+        @SuppressWarnings("unchecked")
+        var promiseList = FuncList.of((Promise<DATA>[])loadPromises);
+        this.promises = promiseList;
+        this.timeout  = (count == 0) ? null : timer.schedule(
+                () -> settle(new TimeoutException("Timeout after " + timeoutDuration + " " + timeoutUnit), null),
+                timeoutDuration,
+                timeoutUnit);
+        if (count == 0) {
+            settle(null, values);
+            return;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            // Failed fast (or timed out or cancelled) while submitting -- settle already failed the rest.
+            if (isDone.get())
+                break;
+            
+            var index = i;
+            var load  = loads.get(i);
+            @SuppressWarnings("unchecked")
+            var pending = (PendingAction<DATA>)pendings[i];
+            running.set(i, executor.submit(() -> {
+                if (isDone.get())
+                    return;
+                try {
+                    var value = load.call();
+                    if (claim(index))
+                        pending.complete(value);
+                    values[index] = value;
+                    // The decrement publishes the value to the thread that sees the count reach zero.
+                    if (remaining.decrementAndGet() == 0)
+                        settle(null, values);
+                } catch (Exception exception) {
+                    if (claim(index))
+                        pending.fail(exception);
+                    settle(exception, null);
+                }
+            }));
+            // Settled between the check and the set -- settle may have missed this one.
+            if (isDone.get())
+                running.get(i).cancel(true);
+        }
+    }
+    
+    /**
+     * Start all the loads.
+     * 
+     * @param loads            the loads to run concurrently.
+     * @param executor         the executor to run the loads on.
+     * @param timer            the scheduler for the timeout.
+     * @param timeoutDuration  how long to wait for all the loads.
+     * @param timeoutUnit      the unit of the timeout.
+     * @return the running fan-in.
+     **/
+    public static <D> PromiseFanIn<D> loadAll(
+            List<? extends Callable<D>> loads,
+            ExecutorService             executor,
+            ScheduledExecutorService    timer,
+            long                        timeoutDuration,
+            TimeUnit                    timeoutUnit) {
+        return new PromiseFanIn<D>(loads, executor, timer, timeoutDuration, timeoutUnit);
+    }
+    
+    /** The promise of all the values in the order of the loads. **/
+    public Promise<FuncList<DATA>> getPromise() {
+        return combined.getPromise();
+    }
+    
+    /** The promises of each of the loads. **/
+    public FuncList<Promise<DATA>> getPromises() {
+        return promises;
+    }
+    
+    /** Cancel whatever is still running -- returns false if it was already done. **/
+    public boolean cancel() {
+        return settle(new CancellationException("Cancelled."), null);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private boolean settle(Exception exception, Object[] values) {
+        if (!isDone.compareAndSet(false, true))
+            return false;
+        
+        if (timeout != null)
+            timeout.cancel(false);
+        
+        if (exception == null) {
+            combined.complete(FuncList.of((DATA[])values));
+            return true;
+        }
+        
+        for (int i = 0; i < pendings.length; i++) {
+            // Already settled by its load -- nothing left to cancel.
+            if (!claim(i))
+                continue;
+            
+            var future = running.get(i);
+            if (future != null)
+                future.cancel(true);
+            // The load may be cancelled (or never submitted) so its own promise is settled here too.
+            pendings[i].fail(exception);
+        }
+        combined.fail(exception);
+        return true;
+    }
+    
+    /** Whoever claims a load first -- the load itself or settle -- settles its promise. **/
+    private boolean claim(int index) {
+        return settled.compareAndSet(index, 0, 1);
+    }
+    
+}
@@ -0,0 +1,58 @@
+package example.functionalj.promise;
+
+import static functionalj.ref.Run.With;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import functionalj.environments.AsyncRunner;
+import functionalj.environments.Env;
+
+/**
+ * Virtual-thread backend for {@code DeferAction.from(...).start()} and {@code f(...).async()}.
+ * 
+ * Both take their runner from {@code Env.refs.async} so switching it for a scope switches every async entry point
+ *   started in that scope. Blocking loads then park a virtual thread instead of holding a platform one.
+ * The examples target Java 11 so the executor is looked up reflectively -- before Java 21 there is none and the
+ *   current runner is kept.
+ **/
+public class VirtualThreads {
+    
+    private static final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+    private static final AsyncRunner     runner   = (executor != null) ? executor::execute : null;
+    
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService)method.invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            // Not there (before Java 19) or a preview feature that is not enabled (Java 19 and 20) -- the
+            //   UnsupportedOperationException of the latter comes wrapped in an InvocationTargetException.
+            return null;
+        }
+    }
+    
+    /** Whether this runtime has virtual threads. **/
+    public static boolean isAvailable() {
+        return executor != null;
+    }
+    
+    /** The runner that starts each action on its own virtual thread or the current runner if there are none. **/
+    public static AsyncRunner asyncRunner() {
+        return isAvailable() ? runner : Env.async();
+    }
+    
+    /** Run the body with all the async actions it starts on virtual threads. **/
+    public static void run(Runnable body) {
+        run(asyncRunner(), body);
+    }
+    
+    /** Run the body with all the async actions it starts on the runner -- the current runner is back afterward. **/
+    public static void run(AsyncRunner asyncRunner, Runnable body) {
+        With(Env.refs.async.butWith(asyncRunner))
+        .run(()-> {
+            body.run();
+        });
+    }
+    
+}
@@ -0,0 +1,180 @@
+package example.functionalj.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import functionalj.function.Func1;
+import functionalj.promise.DeferAction;
+import functionalj.promise.PendingAction;
+import functionalj.promise.Promise;
+
+/**
+ * A store for many concurrent writers.
+ * 
+ * {@link #change(Func1...)} applies its changes as one transition with compare-and-set -- if another writer got in
+ *   first, the changes are applied again to the newer value. The changes must therefore be pure.
+ * {@link #enqueue(Func1)} only queues the change. Whichever writer finds no one draining drains the queue and applies
+ *   everything queued as one transition, so under contention many changes share one compare-and-set and one
+ *   notification. A queued change that throws is left out of its transition and only its own promise fails -- the
+ *   rest of the batch is still applied.
+ * Subscribers are notified once per transition with the new value, in the order of the transitions and never while
+ *   a lock is held. Each transition gets the next sequence number with its compare-and-set; whichever writer finds no
+ *   one notifying delivers the waiting transitions in sequence -- so a writer may return before its own notification
+ *   when another writer is still delivering an earlier one.
+ **/
+public class BatchingStore<DATA> {
+    
+    private final AtomicReference<Version<DATA>>      version;
+    private final ConcurrentLinkedQueue<Queued<DATA>> queue       = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean                       isDraining  = new AtomicBoolean(false);
+    private final List<Consumer<? super DATA>>        subscribers = new CopyOnWriteArrayList<>();
+    
+    /** The transitions not notified yet by sequence -- only the writer notifying removes them. **/
+    private final ConcurrentSkipListMap<Long, Version<DATA>> toNotify    = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean                              isNotifying = new AtomicBoolean(false);
+    private volatile long                                    nextNotify  = 1;
+    
+    public BatchingStore(DATA value) {
+        this.version = new AtomicReference<>(new Version<DATA>(value, 0));
+    }
+    
+    /** The current value. **/
+    public DATA value() {
+        return version.get().value;
+    }
+    
+    /** Get notified with the new value after each transition. **/
+    public BatchingStore<DATA> subscribe(Consumer<? super DATA> subscriber) {
+        subscribers.add(subscriber);
+        return this;
+    }
+    
+    /** Apply the changes in order as one transition -- if any of them throws, none is applied. **/
+    @SafeVarargs
+    public final DATA change(Func1<DATA, DATA> ... changes) {
+        while (true) {
+            var current  = version.get();
+            var newValue = current.value;
+            for (var change : changes) {
+                newValue = change.apply(newValue);
+            }
+            if (transit(current, newValue))
+                return newValue;
+        }
+    }
+    
+    /**
+     * Queue the change -- it is applied by this writer or by the one draining at the time.
+     * 
+     * @return the promise of the value after the transition that includes the change or of the exception it threw.
+     **/
+    public Promise<DATA> enqueue(Func1<DATA, DATA> change) {
+        var queued = new Queued<DATA>(change);
+        queue.add(queued);
+        drain();
+        return queued.pending.getPromise();
+    }
+    
+    private void drain() {
+        // Re-check after letting go so a change queued just before is not left behind.
+        while (!queue.isEmpty() && isDraining.compareAndSet(false, true)) {
+            try {
+                var batch = new ArrayList<Queued<DATA>>();
+                Queued<DATA> queued;
+                while ((queued = queue.poll()) != null) {
+                    batch.add(queued);
+                }
+                if (!batch.isEmpty())
+                    transit(batch);
+            } finally {
+                isDraining.set(false);
+            }
+        }
+    }
+    
+    private void transit(List<Queued<DATA>> batch) {
+        var failures = new Exception[batch.size()];
+        DATA newValue;
+        while (true) {
+            var current = version.get();
+            var applied = 0;
+            newValue = current.value;
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    newValue    = batch.get(i).change.applyUnsafe(newValue);
+                    failures[i] = null;
+                    applied++;
+                } catch (Exception exception) {
+                    failures[i] = exception;
+                }
+            }
+            // Nothing to apply when every change failed -- so no transition.
+            if ((applied == 0) || transit(current, newValue))
+                break;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            var pending = batch.get(i).pending;
+            if (failures[i] == null)
+                 pending.complete(newValue);
+            else pending.fail(failures[i]);
+        }
+    }
+    
+    /** Set the new value if the version is still the current one and notify -- false if another writer got in first. **/
+    private boolean transit(Version<DATA> current, DATA newValue) {
+        var next = new Version<DATA>(newValue, current.sequence + 1);
+        if (!version.compareAndSet(current, next))
+            return false;
+        
+        toNotify.put(next.sequence, next);
+        notifyInOrder();
+        return true;
+    }
+    
+    private void notifyInOrder() {
+        // Re-check after letting go so a transition added just before is not left behind.
+        while (toNotify.containsKey(nextNotify) && isNotifying.compareAndSet(false, true)) {
+            try {
+                Version<DATA> next;
+                while ((next = toNotify.remove(nextNotify)) != null) {
+                    nextNotify++;
+                    for (var subscriber : subscribers) {
+                        subscriber.accept(next.value);
+                    }
+                }
+            } finally {
+                isNotifying.set(false);
+            }
+        }
+    }
+    
+    private static final class Version<DATA> {
+        
+        final DATA value;
+        final long sequence;
+        
+        Version(DATA value, long sequence) {
+            this.value    = value;
+            this.sequence = sequence;
+        }
+        
+    }
+    
+    private static final class Queued<DATA> {
+        
+        final Func1<DATA, DATA>   change;
+        final PendingAction<DATA> pending = DeferAction.<DATA>createNew().start();
+        
+        Queued(Func1<DATA, DATA> change) {
+            this.change = change;
+        }
+        
+    }
+    
+}
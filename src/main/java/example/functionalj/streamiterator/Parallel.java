@@ -0,0 +1,133 @@
+package example.functionalj.streamiterator;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import example.functionalj.list.PersistentVector;
+import example.functionalj.map.PersistentHashMap;
+import functionalj.list.ImmutableFuncList;
+import functionalj.stream.StreamPlus;
+
+/**
+ * Explicitly parallel StreamPlus over immutable lists and maps.
+ * 
+ * The spliterator splits the list by index into exact halves and reports its size, so the fork/join framework gets
+ *   balanced chunks and knows where each result goes -- {@code toImmutableList()} and other ordered terminal
+ *   operations keep the encounter order.
+ * The entries of a {@link PersistentHashMap} split along its trie; any other map is copied into a list of entries
+ *   first. The primitive maps ({@code IntFuncMap}, {@code ObjectDoubleFuncMap}) are not {@link Map}s and are not
+ *   covered.
+ * A parallel stream runs in the pool of the thread that starts its terminal operation so {@link #in(ForkJoinPool,
+ *   Supplier)} runs the whole pipeline in the given pool instead of the common one.
+ **/
+public class Parallel {
+    
+    /** The parallel stream of the list -- a list without fast random access is copied first. **/
+    public static <D> StreamPlus<D> streamOf(List<? extends D> list) {
+        var isCopied     = !(list instanceof RandomAccess);
+        var randomAccess = isCopied ? new ArrayList<D>(list) : list;
+        // The copy is only seen by the stream so it cannot change either.
+        var isImmutable  = isCopied || isImmutable(list);
+        var spliterator  = new IndexSpliterator<D>(randomAccess, 0, randomAccess.size(), isImmutable);
+        return StreamPlus.from(StreamSupport.stream(spliterator, true));
+    }
+    
+    /** The parallel stream of the entries of the map -- a map other than {@link PersistentHashMap} is copied first. **/
+    public static <K, V> StreamPlus<Map.Entry<K, V>> streamOf(Map<K, V> map) {
+        if (map instanceof PersistentHashMap)
+            return StreamPlus.from(StreamSupport.stream(map.entrySet().spliterator(), true));
+        
+        // The entries are copied too -- an entry of a mutable map may change with it.
+        var entries = new ArrayList<Map.Entry<K, V>>(map.size());
+        for (var entry : map.entrySet()) {
+            entries.add(new SimpleImmutableEntry<K, V>(entry));
+        }
+        return streamOf(entries);
+    }
+    
+    /** Whether the list is known not to change -- only those are reported as IMMUTABLE to the stream. **/
+    static boolean isImmutable(List<?> list) {
+        return (list instanceof ImmutableFuncList)
+            || (list instanceof PersistentVector);
+    }
+    
+    /** The parallel pair-wise combination of the two lists -- up to the shorter one. **/
+    public static <A, B, R> StreamPlus<R> zipWith(
+            List<? extends A>                             list1,
+            List<? extends B>                             list2,
+            BiFunction<? super A, ? super B, ? extends R> combinator) {
+        var first  = (list1 instanceof RandomAccess) ? list1 : new ArrayList<A>(list1);
+        var second = (list2 instanceof RandomAccess) ? list2 : new ArrayList<B>(list2);
+        var size   = Math.min(first.size(), second.size());
+        return StreamPlus.from(IntStream.range(0, size).parallel().mapToObj(i -> combinator.apply(first.get(i), second.get(i))));
+    }
+    
+    /** Run the pipeline -- including its terminal operation -- in the pool. **/
+    public static <R> R in(ForkJoinPool pool, Supplier<R> pipeline) {
+        return pool.submit(pipeline::get).join();
+    }
+    
+    static final class IndexSpliterator<D> implements Spliterator<D> {
+        
+        private final List<? extends D> list;
+        private int                     index;
+        private final int               fence;
+        private final boolean           isImmutable;
+        
+        IndexSpliterator(List<? extends D> list, int index, int fence, boolean isImmutable) {
+            this.list        = list;
+            this.index       = index;
+            this.fence       = fence;
+            this.isImmutable = isImmutable;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super D> action) {
+            if (index >= fence)
+                return false;
+            
+            action.accept(list.get(index++));
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super D> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(list.get(i));
+            }
+            index = fence;
+        }
+        
+        @Override
+        public Spliterator<D> trySplit() {
+            var middle = (index + fence) >>> 1;
+            if (middle <= index)
+                return null;
+            
+            var prefix = new IndexSpliterator<D>(list, index, middle, isImmutable);
+            index = middle;
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | (isImmutable ? IMMUTABLE : 0);
+        }
+    }
+    
+}
@@ -0,0 +1,223 @@
+package example.functionalj.structtype;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Struct rows stored column by column -- each int or double field in its own primitive array and each boolean field
+ *   in a bit set.
+ * 
+ * The columns are keyed by the accessors they are built from so the generated lenses name them directly --
+ *   {@code thePersonel.salary} is a {@link ToDoubleFunction} and {@code thePersonel.isOnSite} a {@link Predicate}.
+ *   The same lens object must be used to build and to query a column.
+ * A {@link Selection} is a bit set of rows. A boolean filter is a word-wide bit set operation and a number filter
+ *   scans one primitive array, so filtering and aggregating never touch the row objects and allocate nothing per
+ *   row.
+ **/
+public final class ColumnarTable<HOST> {
+    
+    private final int                   size;
+    private final Map<Object, int[]>    intColumns;
+    private final Map<Object, double[]> doubleColumns;
+    private final Map<Object, BitSet>   booleanColumns;
+    
+    private ColumnarTable(
+            int                   size,
+            Map<Object, int[]>    intColumns,
+            Map<Object, double[]> doubleColumns,
+            Map<Object, BitSet>   booleanColumns) {
+        this.size           = size;
+        this.intColumns     = intColumns;
+        this.doubleColumns  = doubleColumns;
+        this.booleanColumns = booleanColumns;
+    }
+    
+    /** Start a table of the rows -- add the columns to keep then build. **/
+    public static <H> Builder<H> of(List<? extends H> rows) {
+        return new Builder<H>(rows);
+    }
+    
+    /** The number of rows. **/
+    public int size() {
+        return size;
+    }
+    
+    /** A selection of all the rows. **/
+    public Selection select() {
+        var rows = new BitSet(size);
+        rows.set(0, size);
+        return new Selection(rows);
+    }
+    
+    private int[] intColumn(ToIntFunction<? super HOST> column) {
+        return columnOf(intColumns, column);
+    }
+    
+    private double[] doubleColumn(ToDoubleFunction<? super HOST> column) {
+        return columnOf(doubleColumns, column);
+    }
+    
+    private BitSet booleanColumn(Predicate<? super HOST> column) {
+        return columnOf(booleanColumns, column);
+    }
+    
+    private static <C> C columnOf(Map<Object, C> columns, Object accessor) {
+        var column = columns.get(accessor);
+        if (column == null)
+            throw new IllegalArgumentException("Not a column of this table: " + accessor);
+        
+        return column;
+    }
+    
+    /** A set of the rows narrowed down in place by each filter. **/
+    public final class Selection {
+        
+        private final BitSet rows;
+        
+        private Selection(BitSet rows) {
+            this.rows = rows;
+        }
+        
+        /** Keep the rows where the boolean column is true. **/
+        public Selection where(Predicate<? super HOST> column) {
+            rows.and(booleanColumn(column));
+            return this;
+        }
+        
+        /** Keep the rows where the boolean column is false. **/
+        public Selection whereNot(Predicate<? super HOST> column) {
+            rows.andNot(booleanColumn(column));
+            return this;
+        }
+        
+        /** Keep the rows where the int column matches. **/
+        public Selection whereInt(ToIntFunction<? super HOST> column, IntPredicate condition) {
+            var values = intColumn(column);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!condition.test(values[row]))
+                    rows.clear(row);
+            }
+            return this;
+        }
+        
+        /** Keep the rows where the double column matches. **/
+        public Selection whereDouble(ToDoubleFunction<? super HOST> column, DoublePredicate condition) {
+            var values = doubleColumn(column);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!condition.test(values[row]))
+                    rows.clear(row);
+            }
+            return this;
+        }
+        
+        /** Keep the rows where the double column is greater than the value. **/
+        public Selection whereGreaterThan(ToDoubleFunction<? super HOST> column, double value) {
+            var values = doubleColumn(column);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!(values[row] > value))
+                    rows.clear(row);
+            }
+            return this;
+        }
+        
+        /** The number of rows selected. **/
+        public int count() {
+            return rows.cardinality();
+        }
+        
+        /** The values of the int column of the selected rows in row order. **/
+        public int[] ints(ToIntFunction<? super HOST> column) {
+            var values = intColumn(column);
+            var result = new int[rows.cardinality()];
+            var index  = 0;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                result[index++] = values[row];
+            }
+            return result;
+        }
+        
+        /** The sum of the double column of the selected rows. **/
+        public double sum(ToDoubleFunction<? super HOST> column) {
+            var values = doubleColumn(column);
+            var sum    = 0.0;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                sum += values[row];
+            }
+            return sum;
+        }
+    }
+    
+    /** Which columns to keep -- each is extracted in one pass over the rows on {@link #build()}. **/
+    public static final class Builder<HOST> {
+        
+        private final List<? extends HOST>                        rows;
+        private final Map<Object, ToIntFunction<? super HOST>>    intAccessors     = new IdentityHashMap<>();
+        private final Map<Object, ToDoubleFunction<? super HOST>> doubleAccessors  = new IdentityHashMap<>();
+        private final Map<Object, Predicate<? super HOST>>        booleanAccessors = new IdentityHashMap<>();
+        
+        private Builder(List<? extends HOST> rows) {
+            this.rows = rows;
+        }
+        
+        /** Keep the int field. **/
+        public Builder<HOST> intColumn(ToIntFunction<? super HOST> accessor) {
+            intAccessors.put(accessor, accessor);
+            return this;
+        }
+        
+        /** Keep the double field. **/
+        public Builder<HOST> doubleColumn(ToDoubleFunction<? super HOST> accessor) {
+            doubleAccessors.put(accessor, accessor);
+            return this;
+        }
+        
+        /** Keep the boolean field. **/
+        public Builder<HOST> booleanColumn(Predicate<? super HOST> accessor) {
+            booleanAccessors.put(accessor, accessor);
+            return this;
+        }
+        
+        /** The table. **/
+        public ColumnarTable<HOST> build() {
+            var size = rows.size();
+            
+            var intColumns = new IdentityHashMap<Object, int[]>();
+            intAccessors.forEach((key, accessor) -> {
+                var column = new int[size];
+                for (int i = 0; i < size; i++) {
+                    column[i] = accessor.applyAsInt(rows.get(i));
+                }
+                intColumns.put(key, column);
+            });
+            
+            var doubleColumns = new IdentityHashMap<Object, double[]>();
+            doubleAccessors.forEach((key, accessor) -> {
+                var column = new double[size];
+                for (int i = 0; i < size; i++) {
+                    column[i] = accessor.applyAsDouble(rows.get(i));
+                }
+                doubleColumns.put(key, column);
+            });
+            
+            var booleanColumns = new IdentityHashMap<Object, BitSet>();
+            booleanAccessors.forEach((key, accessor) -> {
+                var column = new BitSet(size);
+                for (int i = 0; i < size; i++) {
+                    if (accessor.test(rows.get(i)))
+                        column.set(i);
+                }
+                booleanColumns.put(key, column);
+            });
+            
+            return new ColumnarTable<HOST>(size, intColumns, doubleColumns, booleanColumns);
+        }
+    }
+    
+}
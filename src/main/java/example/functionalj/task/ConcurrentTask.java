@@ -0,0 +1,47 @@
+package example.functionalj.task;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import functionalj.function.Func1;
+import functionalj.promise.DeferAction;
+import functionalj.promise.Promise;
+import functionalj.task.Task;
+
+/**
+ * Sharing of sub-tasks within one run of a composed task graph.
+ * 
+ * The composition itself is the usual {@code function.applyTo(task1, task2)} -- it starts the actions of both
+ *   branches before combining their promises so independent branches already run at the same time.
+ * {@link #perRun(Func1)} builds the graph for each run with a {@link Sharing} -- a task shared through it runs once
+ *   in that run no matter how many times it appears in the graph, and again in the next run.
+ **/
+public class ConcurrentTask {
+    
+    /** The task that builds the graph with a new {@link Sharing} each time its action is created. **/
+    public static <O> Task<O> perRun(Func1<Sharing, Task<O>> graph) {
+        return () -> graph.apply(new Sharing()).createAction();
+    }
+    
+    /** The tasks shared within one run of a graph. **/
+    public static final class Sharing {
+        
+        private Sharing() {}
+        
+        /** The task that runs the given task only the first time in this run, later uses share its result. **/
+        public <D> Task<D> shared(Task<D> task) {
+            var promiseRef = new AtomicReference<Promise<D>>();
+            return () -> DeferAction.from(() -> {
+                var promise = promiseRef.get();
+                if (promise == null) {
+                    var action = task.createAction();
+                    if (promiseRef.compareAndSet(null, action.getPromise()))
+                        action.start();
+                    promise = promiseRef.get();
+                }
+                return promise.getResult().orThrow();
+            });
+        }
+        
+    }
+    
+}
@@ -3,17 +3,32 @@ package example.functionalj.effect;
 import static functionalj.function.Func.f;
 import static functionalj.functions.RegExMatchResult.theResults;
 import static functionalj.functions.StrFuncs.matches;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.promise.BoundedLoader;
+import example.functionalj.promise.VirtualThreads;
+import example.functionalj.store.BatchingStore;
+import example.functionalj.task.ConcurrentTask;
+import functionalj.environments.AsyncRunner;
+import functionalj.environments.Env;
 import functionalj.list.FuncList;
 import functionalj.list.ImmutableFuncList;
 import functionalj.promise.DeferAction;
@@ -54,8 +69,96 @@ class EffectExamples {
         assertEquals("[Result:{ Exception: java.nio.file.NoSuchFileException: fileNotFound.txt }]", logs.toString());
     }
     
-    // TODO - Enable this.
-    @Disabled("Some problems. Will solve later.")
+    @Test
+    void virtualThreadScope() {
+        var outside = Env.async();
+        var inside  = new AtomicReference<AsyncRunner>();
+        AsyncRunner runner = runnable -> runnable.run();
+        
+        // Whatever the JDK -- the runner is switched only for the body.
+        VirtualThreads.run(runner, () -> inside.set(Env.async()));
+        assertSame(runner,  inside.get());
+        assertSame(outside, Env.async());
+        
+        VirtualThreads.run(() -> inside.set(Env.async()));
+        assertSame(VirtualThreads.asyncRunner(), inside.get());
+        assertSame(outside,                      Env.async());
+    }
+    
+    @Test
+    void virtualThreadEffect() throws InterruptedException {
+        assumeTrue(VirtualThreads.isAvailable(), "Virtual threads needs Java 21.");
+        
+        // Slow blocking loads -- too many to each hold a platform thread.
+        var count    = 100_000;
+        var loadSlow = f((Integer id) -> {
+            Thread.sleep(100);
+            return id;
+        });
+        
+        var latch    = new CountDownLatch(count);
+        var failures = new AtomicInteger();
+        var threads  = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        
+        // Only the actions started in this scope run on virtual threads.
+        VirtualThreads.run(() -> {
+            for (int i = 0; i < count; i++) {
+                var id      = i;
+                var promise = (id % 2 == 0)
+                            ? DeferAction.from(() -> loadSlow.applyUnsafe(id)).start().getPromise()
+                            : loadSlow.async().apply(id);
+                promise.onComplete(result -> {
+                    if (!result.isValue())
+                        failures.incrementAndGet();
+                    latch.countDown();
+                });
+            }
+        });
+        
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertEquals(0, failures.get());
+        assertTrue(threads.getPeakThreadCount() < 1_000, "Peak threads: " + threads.getPeakThreadCount());
+    }
+    
+    @Test
+    void boundedBatchEffect() {
+        var inFlight    = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        
+        // The same preparation -- only counting how many files are open at once.
+        var loadFile = f((String fileName) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return DeferAction
+                .from(()-> {
+                    try {
+                        return Files.readAllBytes(Paths.get(fileName)).length;
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                })
+                .start()
+                .getPromise();
+        });
+        
+        var fileNames = FuncList.iterate(0, i -> i + 1).limit(1_000)
+                      .map(i -> (i % 10 == 0) ? "fileNotFound.txt" : "pom.xml")
+                      .toImmutableList();
+        var loader    = new BoundedLoader<>(4, loadFile);
+        
+        var inOrder = loader.inOrder(fileNames).collect(toList());
+        assertEquals(1_000, inOrder.size());
+        // Notice the error is still sent in the same channel
+        assertEquals("Result:{ Exception: java.nio.file.NoSuchFileException: fileNotFound.txt }", inOrder.get(0).toString());
+        assertTrue(inOrder.get(1).isValue());
+        
+        var asCompleted = loader.asCompleted(fileNames.stream()).collect(toList());
+        assertEquals(1_000, asCompleted.size());
+        assertEquals(100,   asCompleted.stream().filter(result -> !result.isValue()).count());
+        
+        assertTrue(maxInFlight.get() <= 4, "Max in flight: " + maxInFlight.get());
+    }
+    
     @Test
     void basicTask() throws IOException {
         // Define task
@@ -68,9 +171,9 @@ class EffectExamples {
         );
         // Define operations -> Notice that this is a generic operation -- no mention of Task.
         var compareWordCount = f((Integer count1, Integer count2) -> {
-            return (count1 == count2) ? "Same size."
-                 : (count1 >  count2) ? "First file is larger."
-                                      : "Second file is larger.";
+            return count1.equals(count2) ? "Same size."
+                 : (count1 >  count2)    ? "First file is larger."
+                                         : "Second file is larger.";
         });
         
         // Declare tasks
@@ -85,6 +188,46 @@ class EffectExamples {
         assertEquals("First file is larger.", compareTask.createAction().getResult().get());
     }
     
+    @Test
+    void concurrentTask() throws InterruptedException {
+        // Each slow task waits until the other has started -- so the composition only completes if they overlap.
+        var started    = new CountDownLatch(2);
+        var overlapped = new AtomicInteger();
+        var slowTask = f((Integer value) -> 
+                Task.from(()-> {
+                    started.countDown();
+                    if (started.await(5, TimeUnit.SECONDS))
+                        overlapped.incrementAndGet();
+                    return value;
+                })
+        );
+        var add = f((Integer a, Integer b) -> a + b);
+        
+        // The same composition as basicTask -- both branches run at the same time.
+        var sumTask = add.applyTo(slowTask.apply(1), slowTask.apply(2));
+        assertEquals("Result:{ Value: 3 }", sumTask.createAction().getResult().toString());
+        assertEquals(2, overlapped.get());
+        
+        // The same sub-task twice in the graph -- only run once per run.
+        var runCount  = new AtomicInteger();
+        var countTask = f((Integer value) -> 
+                Task.from(()-> {
+                    runCount.incrementAndGet();
+                    return value;
+                })
+        );
+        var task = ConcurrentTask.perRun(sharing -> {
+            var shared = sharing.shared(countTask.apply(1));
+            return add.applyTo(add.applyTo(shared, countTask.apply(2)), shared);
+        });
+        assertEquals("Result:{ Value: 4 }", task.createAction().getResult().toString());
+        assertEquals(2, runCount.get());
+        
+        // The next run does not reuse the shared result of the first one.
+        assertEquals("Result:{ Value: 4 }", task.createAction().getResult().toString());
+        assertEquals(4, runCount.get());
+    }
+    
     @Test
     void storeExample() {
         var apppend = f((String str, ImmutableFuncList<String> list)-> list.append(str).toImmutableList());
@@ -104,4 +247,76 @@ class EffectExamples {
         assertEquals("[One, Two, Three, Four, Five, Six]", store.value().toString());
     }
     
+    @Test
+    void batchingStoreExample() throws InterruptedException {
+        var apppend = f((String str, ImmutableFuncList<String> list)-> list.append(str).toImmutableList());
+        
+        var list          = FuncList.of("One", "Two");
+        var store         = new BatchingStore<>(list);
+        var notifications = new AtomicInteger();
+        store.subscribe(value -> notifications.incrementAndGet());
+        
+        // The four changes are one transition -- one notification.
+        store
+        .change(
+            apppend.applyTo("Three"),
+            apppend.applyTo("Four"),
+            apppend.applyTo("Five"),
+            apppend.applyTo("Six")
+        );
+        assertEquals("[One, Two, Three, Four, Five, Six]", store.value().toString());
+        assertEquals(1, notifications.get());
+        
+        // A change queued while another writer is draining waits for the next batch -- so the three changes queued
+        //   while the first one is held are applied as one transition with one notification.
+        var counter     = new BatchingStore<>(0);
+        var transitions = new ConcurrentLinkedQueue<Integer>();
+        counter.subscribe(transitions::add);
+        
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder  = new Thread(() -> counter.enqueue(value -> {
+            entered.countDown();
+            release.await();
+            return value + 1;
+        }));
+        holder.start();
+        entered.await();
+        var queued = FuncList.of(
+                counter.enqueue(value -> value + 1),
+                counter.enqueue(value -> value + 1),
+                counter.enqueue(value -> value + 1));
+        release.countDown();
+        holder.join();
+        
+        assertEquals("[4, 4, 4]", queued.map(promise -> promise.getResult().get()).toString());
+        assertEquals("[1, 4]",    transitions.toString());
+        
+        // Many writers at once -- every change is applied and the notifications come in the order of the transitions.
+        var threads = FuncList.iterate(0, i -> i + 1).limit(8).map(i -> new Thread(() -> {
+            for (int j = 0; j < 10_000; j++) {
+                counter.enqueue(value -> value + 1);
+            }
+        })).toImmutableList();
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(80_004, counter.value().intValue());
+        var notified = new ArrayList<Integer>(transitions);
+        assertEquals(80_004, notified.get(notified.size() - 1).intValue());
+        for (int i = 1; i < notified.size(); i++) {
+            assertTrue(notified.get(i - 1) < notified.get(i), "Out of order at " + i);
+        }
+        
+        // A change that throws fails only its own promise -- the store is untouched and the next change goes on.
+        var failed = counter.enqueue(value -> {
+            throw new IllegalStateException("Bad change");
+        });
+        assertFalse(failed.getResult().isValue());
+        assertEquals(80_004, counter.value().intValue());
+        assertEquals(80_005, counter.enqueue(value -> value + 1).getResult().get().intValue());
+    }
+    
 }
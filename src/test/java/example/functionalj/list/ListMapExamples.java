@@ -27,10 +27,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.map.ObjectDoubleFuncMap;
 import functionalj.function.Func;
 import functionalj.list.FuncList;
 import functionalj.map.FuncMap;
@@ -87,6 +90,65 @@ class ListMapExamples {
         assertEquals("{E:2.71828, One:1.0, PI:3.14159, Ten:10.0}", newMap .toString());
     }
     
+    @Test
+    void examplePersistentVector() {
+        var list    = PersistentVector.of("I", "Me", "Myself");
+        var newList = list.append("First-Person");
+        
+        assertEquals("[I, Me, Myself]",               list.toString());
+        assertEquals("[I, Me, Myself, First-Person]", newList.toString());
+        assertEquals("[I, Me, Myself, First-Person]", newList.toFuncList().toString());
+        
+        // Still read only.
+        try {
+            newList.add("We");
+            fail("Expect an error!");
+        } catch (UnsupportedOperationException e) {
+        }
+        
+        // Appending one at a time stays cheap and every version is kept.
+        var numbers = PersistentVector.<Integer>empty();
+        var halfway = numbers;
+        for (int i = 0; i < 100_000; i++) {
+            numbers = numbers.append(i);
+            if (i == 50_000)
+                halfway = numbers;
+        }
+        assertEquals(100_000, numbers.size());
+        assertEquals(50_001,  halfway.size());
+        assertEquals(77_777,  numbers.get(77_777).intValue());
+        
+        var changed = numbers.with(42, -42);
+        assertEquals(-42, changed.get(42).intValue());
+        assertEquals( 42, numbers.get(42).intValue());
+    }
+    
+    @Test
+    void examplePrimitiveMap() {
+        var map = ObjectDoubleFuncMap.<String>newBuilder()
+                .with("One", 1.0)
+                .with("PI",  3.14159)
+                .with("E",   2.71828)
+                .build()
+                .sortedByKey(String::compareTo);
+        var newMap = map.with("Ten", 10.0);
+        
+        assertEquals("{E:2.71828, One:1.0, PI:3.14159}",           map   .toString());
+        assertEquals("{E:2.71828, One:1.0, PI:3.14159, Ten:10.0}", newMap.toString());
+        assertEquals("{E:3.0, One:1.0, PI:3.0}",                   map.mapValue(Math::rint).toString());
+        assertEquals(3.14159, map.getOrDefault("PI", 0.0));
+        
+        // Equal by the entries -- the order does not matter.
+        var unsorted = ObjectDoubleFuncMap.<String>newBuilder()
+                .with("PI",  3.14159)
+                .with("E",   2.71828)
+                .with("One", 1.0)
+                .build();
+        assertEquals   (map,            unsorted);
+        assertEquals   (map.hashCode(), unsorted.hashCode());
+        assertNotEquals(map,            newMap);
+    }
+    
     @Test
     void exampleFunctional() {
         var list = FuncList.of("I", "Me", "Myself");
@@ -107,4 +169,40 @@ class ListMapExamples {
         assertEquals(surelyDeadCats, surelyDeadCats);
     }
     
+    @Test
+    void exampleMemoizedLazy() {
+        var cats         = FuncList.of("Kitty", "Tigger", "Striped", "Oreo", "Simba", "Scar", "Felix", "Pete", "Schrödinger's");
+        var rand         = new Random();
+        var checkCount   = new AtomicInteger();
+        var deadNotAlive = Func.f((String s) -> {
+                                checkCount.incrementAndGet();
+                                return rand.nextBoolean();
+                            }).toPredicate();
+        
+        // Still lazy but each cat is only checked once.
+        var deadCats = MemoizedList.of(cats.filter(deadNotAlive));
+        assertEquals(0, checkCount.get());
+        
+        // Two separate traversals -- the second reads what the first kept.
+        var firstTraversal  = new ArrayList<String>(deadCats);
+        var secondTraversal = new ArrayList<String>(deadCats);
+        assertEquals(firstTraversal,      secondTraversal);
+        assertEquals(deadCats.toString(), deadCats.toString());
+        assertEquals(9, checkCount.get());
+        
+        deadCats.size();
+        deadCats.forEach(cat -> {});
+        assertEquals(9, checkCount.get());
+        
+        // Only as far as asked.
+        checkCount.set(0);
+        var allCats = MemoizedList.of(cats.filter(cat -> {
+            checkCount.incrementAndGet();
+            return true;
+        }));
+        assertEquals("Oreo", allCats.get(3));
+        assertEquals(4, checkCount.get());
+        assertEquals(4, allCats.evaluatedCount());
+    }
+    
 }
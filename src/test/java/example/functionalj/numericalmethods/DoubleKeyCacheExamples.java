@@ -0,0 +1,114 @@
+package example.functionalj.numericalmethods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleKeyCacheExamples {
+    
+    @Test
+    void testCounters() {
+        var cache = new DoubleKeyCache(4);
+        assertTrue(Double.isNaN(cache.get(1.0, 2.0)));
+        cache.put(1.0, 2.0, 3.0);
+        assertEquals(3.0, cache.get(1.0, 2.0));
+        assertEquals(3.0, cache.get(1.0, 2.0));
+        assertTrue(Double.isNaN(cache.get(2.0, 1.0)));
+        assertEquals("DoubleKeyCache[size: 1, capacity: 4, hits: 2, misses: 2, evictions: 0]", cache.toString());
+    }
+    
+    @Test
+    void testClockEviction() {
+        var cache = new DoubleKeyCache(3);
+        cache.put(1.0, 0.0, 10.0);
+        cache.put(2.0, 0.0, 20.0);
+        cache.put(3.0, 0.0, 30.0);
+        
+        // 1 and 3 are used so 2 is the one to go.
+        cache.get(1.0, 0.0);
+        cache.get(3.0, 0.0);
+        cache.put(4.0, 0.0, 40.0);
+        
+        assertTrue (cache.contains(1.0, 0.0));
+        assertFalse(cache.contains(2.0, 0.0));
+        assertTrue (cache.contains(3.0, 0.0));
+        assertTrue (cache.contains(4.0, 0.0));
+        assertEquals(1, cache.evictions());
+        assertEquals(3, cache.size());
+    }
+    
+    @Test
+    void testSingleFlight() throws Exception {
+        var cache       = new DoubleKeyCache(4);
+        var evaluations = new AtomicInteger();
+        var threadCount = 8;
+        var ready       = new CountDownLatch(threadCount);
+        var executor    = Executors.newFixedThreadPool(threadCount);
+        try {
+            var futures = new Future<?>[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                futures[i] = executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return cache.computeIfAbsent(1.0, 2.0, (x, y) -> {
+                        evaluations.incrementAndGet();
+                        Thread.sleep(50);
+                        return x + y;
+                    });
+                });
+            }
+            for (var future : futures) {
+                assertEquals(3.0, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        // All asked at once but only one computed -- the others waited and hit.
+        assertEquals(1,               evaluations.get());
+        assertEquals(1,               cache.misses());
+        assertEquals(threadCount - 1, cache.hits());
+    }
+    
+    @Test
+    void testNaNValue() throws Exception {
+        var cache       = new DoubleKeyCache(4);
+        var evaluations = new AtomicInteger();
+        DoubleKeyCache.Loader loader = (x, y) -> {
+            evaluations.incrementAndGet();
+            return Double.NaN;
+        };
+        assertTrue(Double.isNaN(cache.computeIfAbsent(1.0, 0.0, loader)));
+        assertTrue(Double.isNaN(cache.computeIfAbsent(1.0, 0.0, loader)));
+        assertEquals(1, evaluations.get());
+    }
+    
+    @Test
+    void testReentrantLoader() throws Exception {
+        var cache    = new DoubleKeyCache(16);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            // Each loader uses the cache for other keys while the other loader runs -- no lock is held meanwhile.
+            var first  = executor.submit(() -> cache.computeIfAbsent(1.0, 0.0, (x, y) -> cache.computeIfAbsent(2.0, 0.0, (p, q) -> 20.0) + 1));
+            var second = executor.submit(() -> cache.computeIfAbsent(3.0, 0.0, (x, y) -> cache.computeIfAbsent(4.0, 0.0, (p, q) -> 40.0) + 3));
+            assertEquals(21.0, first .get(5, TimeUnit.SECONDS));
+            assertEquals(43.0, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        
+        // Asking for its own keys can never finish.
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent(5.0, 0.0, (x, y) -> cache.computeIfAbsent(5.0, 0.0, (p, q) -> 1.0)));
+        assertFalse(cache.contains(5.0, 0.0));
+    }
+    
+}
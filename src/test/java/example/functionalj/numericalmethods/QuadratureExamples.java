@@ -0,0 +1,62 @@
+package example.functionalj.numericalmethods;
+
+import static functionalj.list.FuncList.newListBuilder;
+import static java.lang.Math.abs;
+import static java.lang.Math.exp;
+import static java.lang.Math.pow;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import example.functionalj.numericalmethods.Trapezoidal.Func;
+
+class QuadratureExamples {
+    
+    @Test
+    void testIntegrators() {
+        var function   = (Func)((x) -> 3 + 2 * pow(x, 2) - pow(x, 3) + pow(2, x) - exp(-x));
+        var startX     = -1.0;
+        var stopX      =  3.0;
+        var actualArea = 18.81838;
+        
+        var evaluations = new AtomicInteger();
+        var counted     = (Func)(x -> {
+            evaluations.incrementAndGet();
+            return function.applyAsDouble(x);
+        });
+        
+        var integrators = new LinkedHashMap<String, Integrator>();
+        integrators.put("Trapezoidal (n = 200)", Integrator.trapezoidal(200));
+        integrators.put("Simpson     (n =  16)", Integrator.simpson(16));
+        integrators.put("Romberg     (1e-10)",   Integrator.romberg(1e-10));
+        integrators.put("GaussKronrod(1e-10)",   Integrator.gaussKronrod(1e-10));
+        
+        var resultLogs = newListBuilder(String.class);
+        integrators.forEach((name, integrator) -> {
+            evaluations.set(0);
+            var area  = integrator.integrate(counted, startX, stopX);
+            var error = abs((actualArea - area) / actualArea) * 100;
+            resultLogs.add(format("%-21s: evaluations = % 4d, Area = %10.7f, error = %10.7f%%\n", name, evaluations.get(), area, error));
+        });
+        // The trapezoidal row is the last row of the table in Trapezoidal.testTrapezoidalRule.
+        // The error of the last two bottoms out as the actual area is only given to 5 decimal places.
+        assertEquals("Trapezoidal (n = 200): evaluations =  201, Area = 18.8182024, error =  0.0009438%\n"
+                   + "Simpson     (n =  16): evaluations =   17, Area = 18.8183812, error =  0.0000066%\n"
+                   + "Romberg     (1e-10)  : evaluations =   65, Area = 18.8183847, error =  0.0000250%\n"
+                   + "GaussKronrod(1e-10)  : evaluations =   15, Area = 18.8183847, error =  0.0000250%\n",
+                    resultLogs.build().join());
+    }
+    
+    @Test
+    void testAdaptiveAgreesWithRomberg() {
+        var function = (Func)(x -> exp(-x * x));
+        var romberg  = Integrator.romberg(1e-12).integrate(function, -4.0, 4.0);
+        var adaptive = Integrator.gaussKronrod(1e-12).integrate(function, -4.0, 4.0);
+        assertEquals(romberg, adaptive, 1e-10);
+    }
+    
+}
@@ -0,0 +1,54 @@
+package example.functionalj.numericalmethods;
+
+import static functionalj.list.FuncList.listOf;
+import static java.lang.Math.exp;
+import static java.lang.Math.pow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import example.functionalj.numericalmethods.Trapezoidal.Func;
+
+class TrapezoidalExamples {
+    
+    @Test
+    void testPrimitiveTrapezoidalRule() {
+        var function = (Func)((x) -> 3 + 2 * pow(x, 2) - pow(x, 3) + pow(2, x) - exp(-x));
+        var startX   = -1.0;
+        var stopX    =  3.0;
+        
+        for (var segmentCount : listOf(1, 2, 4, 8, 16, 200, 1_000)) {
+            var expected = Trapezoidal.area(function, startX, stopX, segmentCount);
+            var actual   = PrimitiveTrapezoidal.area(function, startX, stopX, segmentCount);
+            assertEquals(expected, actual, 1e-10, "n = " + segmentCount);
+        }
+    }
+    
+    @Test
+    void testParallelTrapezoidalRule() {
+        var function     = (Func)((x) -> 3 + 2 * pow(x, 2) - pow(x, 3) + pow(2, x) - exp(-x));
+        var startX       = -1.0;
+        var stopX        =  3.0;
+        var segmentCount = 2_000_000;
+        
+        var sequential = PrimitiveTrapezoidal.area(function, startX, stopX, segmentCount);
+        var parallel   = ParallelTrapezoidal.area(function, startX, stopX, segmentCount);
+        assertEquals(sequential, parallel, 1e-11);
+        
+        // The chunks only depend on the segment count so the result does not depend on the pool.
+        var singlePool = new ForkJoinPool(1);
+        var widePool   = new ForkJoinPool(8);
+        try {
+            var chunkSize = ParallelTrapezoidal.DEFAULT_CHUNK_SIZE;
+            assertEquals(
+                    ParallelTrapezoidal.area(singlePool, function, startX, stopX, segmentCount, chunkSize),
+                    ParallelTrapezoidal.area(widePool,   function, startX, stopX, segmentCount, chunkSize));
+        } finally {
+            singlePool.shutdown();
+            widePool.shutdown();
+        }
+    }
+    
+}
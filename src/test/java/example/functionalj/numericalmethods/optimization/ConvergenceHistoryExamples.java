@@ -0,0 +1,50 @@
+package example.functionalj.numericalmethods.optimization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ConvergenceHistoryExamples {
+    
+    @Test
+    void testRingBuffer() throws IOException {
+        var history = new ConvergenceHistory(3);
+        for (int i = 0; i < 10; i++) {
+            history.onIteration(i, 10.0 - i, 1.0 / (i + 1));
+        }
+        assertEquals(10,  history.totalCount());
+        assertEquals(3,   history.size());
+        assertEquals(1.0, history.minValue());
+        assertEquals(10.0, history.maxValue());
+        assertEquals(1.0, history.lastValue());
+        
+        var csv = new StringWriter();
+        history.writeCsv(csv);
+        assertEquals("iteration,value,gradientNorm\n"
+                   + "7,3.0,0.125\n"
+                   + "8,2.0,0.1111111111111111\n"
+                   + "9,1.0,0.1\n",
+                   csv.toString());
+    }
+    
+    @Test
+    void testHeadlessPng() throws IOException {
+        var history = new ConvergenceHistory(100);
+        for (int i = 0; i < 1000; i++) {
+            history.onIteration(i, 1.0 / (i + 1), 0.0);
+        }
+        var output = new ByteArrayOutputStream();
+        history.writePng("Convergence", output);
+        
+        var bytes = output.toByteArray();
+        assertTrue(bytes.length > 8);
+        assertEquals("PNG", new String(bytes, 1, 3, StandardCharsets.US_ASCII));
+    }
+    
+}
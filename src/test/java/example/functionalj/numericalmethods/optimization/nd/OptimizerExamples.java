@@ -0,0 +1,101 @@
+package example.functionalj.numericalmethods.optimization.nd;
+
+import static example.functionalj.numericalmethods.optimization.nd.Optimizer.defaultCriteria;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import example.functionalj.numericalmethods.autodiff.Dual;
+import example.functionalj.numericalmethods.autodiff.DualFunc;
+import example.functionalj.numericalmethods.optimization.ConvergenceHistory;
+
+class OptimizerExamples {
+    
+    /** The function in GradientDescent2D -- maximized at (2, 1) so its negation is minimized. **/
+    private static final DualFunc gradientDescent2D = variables -> {
+        var x = variables[0];
+        var y = variables[1];
+        return x.times(y).times(2).plus(x.times(2)).minus(x.times(x)).minus(y.times(y).times(2));
+    };
+    
+    /** Rosenbrock function of any dimension -- minimized at (1, 1, ..., 1). **/
+    private static final DualFunc rosenbrock = variables -> {
+        var sum = Dual.constant(0.0, variables.length);
+        for (int i = 0; i < variables.length - 1; i++) {
+            var valley = variables[i + 1].minus(variables[i].times(variables[i]));
+            var offset = variables[i].negate().plus(1.0);
+            sum = sum.plus(valley.times(valley).times(100)).plus(offset.times(offset));
+        }
+        return sum;
+    };
+    
+    @Test
+    void testUpdateRules() {
+        var objective = Objective.of(gradientDescent2D).negate();
+        var rules     = new LinkedHashMap<String, Optimizer>();
+        rules.put("GradientDescent", new Optimizer(UpdateRule.gradientDescent(0.2)));
+        rules.put("Momentum",        new Optimizer(UpdateRule.momentum(0.1, 0.5)));
+        rules.put("Nesterov",        new Optimizer(UpdateRule.nesterov(0.1, 0.5)));
+        rules.put("Adam",            new Optimizer(UpdateRule.adam(0.1)));
+        rules.put("LBFGS",           new Optimizer(UpdateRule.lbfgs(5), LineSearch.armijo(), defaultCriteria()));
+        
+        rules.forEach((name, optimizer) -> {
+            var x           = new double[] { -1.0, 1.0 };
+            var convergence = optimizer.minimize(objective, x);
+            assertEquals(StopReason.GRADIENT_TOLERANCE, convergence.stopReason(), name);
+            assertEquals(2.0, x[0], 1e-6, name);
+            assertEquals(1.0, x[1], 1e-6, name);
+        });
+        
+        // GradientDescent2D runs out of its 100 iterations -- L-BFGS needs about ten.
+        var x     = new double[] { -1.0, 1.0 };
+        var lbfgs = rules.get("LBFGS").minimize(objective, x);
+        assertTrue(lbfgs.iterations() < 20, "Iterations: " + lbfgs.iterations());
+    }
+    
+    @Test
+    void testRosenbrock() {
+        var dimension = 10;
+        var optimizer = new Optimizer(UpdateRule.lbfgs(5), LineSearch.armijo(), defaultCriteria());
+        
+        var x = new double[dimension];
+        Arrays.fill(x, -1.2);
+        var convergence = optimizer.minimize(Objective.of(rosenbrock), x);
+        
+        assertEquals(StopReason.GRADIENT_TOLERANCE, convergence.stopReason());
+        assertTrue(convergence.iterations() < 200, "Iterations: " + convergence.iterations());
+        for (int i = 0; i < dimension; i++) {
+            assertEquals(1.0, x[i], 1e-6);
+        }
+    }
+    
+    @Test
+    void testMaxIterations() {
+        var criteria  = defaultCriteria().withMaxIterations(3);
+        var optimizer = new Optimizer(UpdateRule.gradientDescent(0.2), LineSearch.none(), criteria);
+        
+        var convergence = optimizer.minimize(Objective.of(gradientDescent2D).negate(), new double[] { -1.0, 1.0 });
+        assertEquals(StopReason.MAX_ITERATIONS, convergence.stopReason());
+        assertEquals(3, convergence.iterations());
+        assertEquals(4, convergence.evaluations());
+    }
+    
+    @Test
+    void testIterationListener() {
+        var history   = new ConvergenceHistory(10);
+        var optimizer = new Optimizer(UpdateRule.gradientDescent(0.2));
+        
+        var convergence = optimizer.minimize(Objective.of(gradientDescent2D).negate(), new double[] { -1.0, 1.0 }, history);
+        
+        // Every iteration plus the starting point is seen but only the last 10 are kept.
+        assertEquals(convergence.iterations() + 1, history.totalCount());
+        assertEquals(10,                           history.size());
+        assertEquals(convergence.value(),          history.lastValue());
+        assertEquals(7.0,                          history.maxValue());
+    }
+    
+}
@@ -0,0 +1,137 @@
+package example.functionalj.numericalmethods.optimization.oned;
+
+import static example.functionalj.numericalmethods.optimization.oned.PrimitiveRootFinder.Termination.DROP_AFTER;
+import static example.functionalj.numericalmethods.optimization.oned.PrimitiveRootFinder.Termination.TAKE_UNTIL;
+import static functionalj.function.Apply.$;
+import static functionalj.function.Func.f;
+import static functionalj.list.FuncList.iterate;
+import static java.lang.Math.abs;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import example.functionalj.numericalmethods.MemoizedFunc1;
+
+class NewtonRaphsonMethodExamples {
+    
+    @Test
+    void testMemoized() {
+        var evaluations = new AtomicInteger();
+        var func        = new MemoizedFunc1(x -> {
+            evaluations.incrementAndGet();
+            return 1*x*x*x - 1*x*x - 1;
+        }, 64);
+        var function     = ((DoubleFunc)func::apply).withDiff(x -> 3*x*x - 2*x + 0);
+        var newtonUpdate = f((Iteration it) -> it.x - it.fx / it.dfx);
+        
+        var first = iterate(function.apply(2.0), $(function, newtonUpdate))
+                .dropAfter(it -> abs(it.fx) < 1e-10)
+                .toImmutableList();
+        var firstEvaluations = evaluations.get();
+        
+        // Solving again from the same start gives the same iterations without evaluating the function.
+        var second = iterate(function.apply(2.0), $(function, newtonUpdate))
+                .dropAfter(it -> abs(it.fx) < 1e-10)
+                .toImmutableList();
+        assertEquals(first, second);
+        assertEquals(firstEvaluations, evaluations.get());
+        assertEquals(firstEvaluations, func.cache().misses());
+        assertTrue(func.cache().hits() >= first.size());
+    }
+    
+    @Test
+    void testPrimitive() {
+        var x0           = 2.0;
+        var epsilon      = 1e-10;
+        var maxLoop      = 1000;
+        var learningRate = 0.05;
+        
+        DoubleUnaryOperator func = x -> 1*x*x*x - 1*x*x - 1;
+        DoubleUnaryOperator diff = x -> 3*x*x   - 2*x   + 0;
+        
+        var newton   = new PrimitiveRootFinder(func, diff, PrimitiveRootFinder.newton(),               DROP_AFTER, epsilon, maxLoop, 2);
+        var gradient = new PrimitiveRootFinder(func, diff, PrimitiveRootFinder.gradient(learningRate), TAKE_UNTIL, epsilon, maxLoop);
+        
+        // Same as the FuncList pipelines in NewtonRaphsonMethod.test.
+        assertEquals(
+                "Newton (  6 iterations): x: 1.4655712318767877, fx: 6.927791673660977E-14, dfx: 3.51255464336096\n",
+                format("Newton (%3d iterations): x: %s, fx: %s, dfx: %s\n", newton.solve(x0), newton.x(), newton.fx(), newton.dfx()));
+        assertEquals(
+                "GD (120 iterations): x: 1.4655712319092813, fx: 1.142046457403012E-10, dfx: 3.5125546435817014\n",
+                format("GD (%3d iterations): x: %s, fx: %s, dfx: %s\n", gradient.solve(x0), gradient.x(), gradient.fx(), gradient.dfx()));
+        
+        // Only the last two iterations are kept.
+        assertEquals(6, newton.trace().totalCount());
+        assertEquals(
+                "RootFindingTrace["
+                + "(x: 1.4655713749070918, fx: 5.024018974175704E-7, dfx: 3.512555615027006), "
+                + "(x: 1.4655712318767877, fx: 6.927791673660977E-14, dfx: 3.51255464336096)"
+                + "]",
+                newton.trace().toString());
+    }
+    
+    @Test
+    void testPrimitiveDoesNotAllocate() {
+        var newton = new PrimitiveRootFinder(
+                x -> 1*x*x*x - 1*x*x - 1,
+                x -> 3*x*x   - 2*x   + 0,
+                PrimitiveRootFinder.newton(),
+                DROP_AFTER, 1e-10, 1000, 16);
+        
+        var threads  = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        
+        for (int i = 0; i < 100_000; i++) {
+            newton.solve(2.0 + (i % 7));
+        }
+        var before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            newton.solve(2.0 + (i % 7));
+        }
+        var allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated < 1024, "Allocated: " + allocated);
+    }
+    
+    @Test
+    void testBatch() {
+        var epsilon   = 1e-10;
+        var maxLoop   = 1000;
+        var laneCount = 10_000;
+        
+        // x^3 - x^2 - p: the first lane (p = 1) is the function in NewtonRaphsonMethod.test.
+        var random         = new Random(42);
+        var parameters     = new double[laneCount];
+        var initialGuesses = new double[laneCount];
+        for (int lane = 0; lane < laneCount; lane++) {
+            parameters    [lane] = (lane == 0) ? 1.0 : 0.5 + 10*random.nextDouble();
+            initialGuesses[lane] = (lane == 0) ? 2.0 : 1.0 +  5*random.nextDouble();
+        }
+        
+        var finder     = new BatchRootFinder((x, p) -> 1*x*x*x - 1*x*x - p, (x, p) -> 3*x*x - 2*x + 0, epsilon, maxLoop);
+        var roots      = new double[laneCount];
+        var iterations = new int[laneCount];
+        assertEquals(laneCount, finder.solve(parameters, initialGuesses, roots, iterations));
+        
+        assertEquals("Newton (  6 iterations): x: 1.4655712318767877\n",
+                format("Newton (%3d iterations): x: %s\n", iterations[0], roots[0]));
+        
+        for (int lane = 0; lane < laneCount; lane++) {
+            var param  = parameters[lane];
+            var single = new PrimitiveRootFinder(
+                    x -> 1*x*x*x - 1*x*x - param,
+                    x -> 3*x*x   - 2*x   + 0,
+                    PrimitiveRootFinder.newton(),
+                    DROP_AFTER, epsilon, maxLoop);
+            assertEquals(single.solve(initialGuesses[lane]), iterations[lane], "Lane: " + lane);
+            assertEquals(single.x(),                         roots[lane],      "Lane: " + lane);
+        }
+    }
+    
+}
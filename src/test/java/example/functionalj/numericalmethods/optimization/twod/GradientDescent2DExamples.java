@@ -0,0 +1,72 @@
+package example.functionalj.numericalmethods.optimization.twod;
+
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.differtiableFunction;
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.iterations;
+import static example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.newIteration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.XYDualFunc;
+import example.functionalj.numericalmethods.optimization.twod.GradientDescent2D.XYFunc;
+
+class GradientDescent2DExamples {
+    
+    @Test
+    void testAutomaticDifferentiation() {
+        var finiteEvaluations = new AtomicInteger();
+        var dualEvaluations   = new AtomicInteger();
+        var finite = differtiableFunction((x, y) -> {
+            finiteEvaluations.incrementAndGet();
+            return 2*x*y + 2*x - x*x - 2*y*y;
+        });
+        var dual = (XYDualFunc)((x, y) -> {
+            dualEvaluations.incrementAndGet();
+            return x.times(y).times(2).plus(x.times(2)).minus(x.times(x)).minus(y.times(y).times(2));
+        });
+        
+        // One evaluation instead of five (one for the value and two for each forward difference).
+        finiteEvaluations.set(0);
+        dualEvaluations  .set(0);
+        newIteration(-1.0, 1.0, finite);
+        assertEquals("Iteration[x: -1.0, y: 1.0, fxy: -7.0, dfx: 6.0, dfy: -6.0]", newIteration(-1.0, 1.0, dual).toString());
+        assertEquals(5, finiteEvaluations.get());
+        assertEquals(1, dualEvaluations.get());
+        
+        // No truncation error -- the gradient is exactly zero at the optimum.
+        assertEquals("Iteration[x: 2.0, y: 1.0, fxy: 2.0, dfx: 0.0, dfy: 0.0]", newIteration(2.0, 1.0, dual).toString());
+        
+        var calculated = iterations(dual, -1.0, 1.0, 0.2, 1.0e-10, 100).lastResult().get();
+        assertEquals(2.0, calculated.x,   1.0e-4);
+        assertEquals(1.0, calculated.y,   1.0e-4);
+        assertEquals(2.0, calculated.fxy, 1.0e-8);
+    }
+    
+    @Test
+    void testMemoizedFunction() {
+        var evaluations = new AtomicInteger();
+        var objective   = (XYFunc)((x, y) -> {
+            evaluations.incrementAndGet();
+            return 2*x*y + 2*x - x*x - 2*y*y;
+        });
+        var plain    = differtiableFunction(objective, 1.0e-10);
+        var memoized = differtiableFunction(objective, 1.0e-10, 16);
+        
+        // f(x, y) is shared by func, dfdx and dfdy -- so three evaluations instead of five.
+        evaluations.set(0);
+        var expected = newIteration(-1.0, 1.0, plain);
+        assertEquals(5, evaluations.get());
+        
+        evaluations.set(0);
+        assertEquals(expected, newIteration(-1.0, 1.0, memoized));
+        assertEquals(3, evaluations.get());
+        
+        // The same point again is all from the cache.
+        evaluations.set(0);
+        assertEquals(expected, newIteration(-1.0, 1.0, memoized));
+        assertEquals(0, evaluations.get());
+    }
+    
+}
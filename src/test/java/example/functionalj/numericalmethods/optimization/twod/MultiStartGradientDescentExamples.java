@@ -0,0 +1,71 @@
+package example.functionalj.numericalmethods.optimization.twod;
+
+import static example.functionalj.numericalmethods.optimization.twod.MultiStartGradientDescent.DEFAULT_MIN_ITERATIONS;
+import static example.functionalj.numericalmethods.optimization.twod.MultiStartGradientDescent.DEFAULT_SLACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class MultiStartGradientDescentExamples {
+    
+    /** Non-convex: a local maximum near each of (+-1, +-1) -- the global one near (1, 1). **/
+    private static final DiffertiableFunction bumps = GradientDescent2D.differtiableFunction(
+            (x, y) -> -(x*x - 1)*(x*x - 1) - (y*y - 1)*(y*y - 1) + 0.3*x + 0.1*y);
+    
+    private static List<StartPoint> grid() {
+        var points = new double[] { -1.7, -0.3, 0.4, 1.6 };
+        var starts = new ArrayList<StartPoint>();
+        for (var x : points) {
+            for (var y : points) {
+                starts.add(new StartPoint(x, y));
+            }
+        }
+        return starts;
+    }
+    
+    @Test
+    void testMultiStart() {
+        var stepSize = 0.05;
+        var epsilon  = 1.0e-10;
+        var maxLoop  = 1000;
+        
+        // One thread so the order of the starts -- and with early cancellation, which are cancelled -- is deterministic.
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var exhaustive = new MultiStartGradientDescent(stepSize, epsilon, maxLoop, executor).maximize(bumps, grid());
+            assertTrue(exhaustive.starts.allMatch(start -> !start.cancelled));
+            assertEquals(1.0356, exhaustive.best.x, 1e-3);
+            assertEquals(1.0123, exhaustive.best.y, 1e-3);
+            
+            // A start ends exactly where it does alone.
+            for (var start : exhaustive.starts) {
+                var alone = GradientDescent2D.iterations(bumps, start.start.x, start.start.y, stepSize, epsilon, maxLoop);
+                assertEquals(alone.lastResult().get(), start.last);
+                assertEquals(alone.size(),             start.iterations);
+            }
+            
+            // By default nothing is cancelled -- so the parallel run finds the same best however the threads interleave.
+            var parallel = new MultiStartGradientDescent(stepSize, epsilon, maxLoop).maximize(bumps, grid());
+            assertTrue(parallel.starts.allMatch(start -> !start.cancelled));
+            assertEquals(exhaustive.best.fxy, parallel.best.fxy, 1e-9);
+            
+            // Early cancellation is opt-in and approximate -- on this function it drops some starts and still finds
+            //   the best, but that is not guaranteed in general.
+            var approximate = new MultiStartGradientDescent(stepSize, epsilon, maxLoop, executor, DEFAULT_MIN_ITERATIONS, DEFAULT_SLACK).maximize(bumps, grid());
+            assertTrue(approximate.starts.filter(start -> start.cancelled).size() > 0);
+            assertEquals(exhaustive.best.fxy, approximate.best.fxy, 1e-9);
+            for (var start : approximate.starts) {
+                if (!start.cancelled)
+                    assertEquals(exhaustive.starts.get(start.index).last, start.last);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+}
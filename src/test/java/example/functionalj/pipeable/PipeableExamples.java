@@ -3,11 +3,13 @@ package example.functionalj.pipeable;
 import static functionalj.functions.StrFuncs.replaceAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.io.FileStages;
 import functionalj.list.FuncList;
 import functionalj.pipeable.PipeLine;
 import functionalj.pipeable.Pipeable;
@@ -40,6 +42,59 @@ class PipeableExamples {
         assertEquals("[null, null]", fileContents.toString());
     }
     
+    @Test
+    void testFusedPipeLine() {
+        var staged = PipeLine
+                .of  (String.class)
+                .then(Paths ::get)
+                .then(Files ::readAllBytes)
+                .then(String::new)
+                .thenReturn();
+        // Same pipeline with its stages composed into one function.
+        var readFile = FusedPipeLine.fuse(staged);
+        
+        var fileNames = FuncList.of("file1.txt", "file2.txt");
+        var fileContents = fileNames.map(readFile);
+        // Notice that the error is still suppressed.
+        assertEquals("[null, null]", fileContents.toString());
+        
+        assertEquals(staged.apply("pom.xml"), readFile.apply("pom.xml"));
+    }
+    
+    @Test
+    void testStreamingPipeLine() throws IOException {
+        // Same pipeline but the file is streamed line by line -- the counting stage sees one line at a time and the
+        //   file is closed when it is done (even if it throws).
+        var countLines = PipeLine
+                .of  (String.class)
+                .then(Paths ::get)
+                .then(FileStages.lines(lines -> lines.filter(line -> !line.isBlank()).count()))
+                .thenReturn();
+        
+        var fileNames  = FuncList.of("file1.txt", "file2.txt");
+        var lineCounts = fileNames.map(countLines);
+        // Notice that the error is still suppressed.
+        assertEquals("[null, null]", lineCounts.toString());
+        
+        var expected = Files.readAllLines(Paths.get("pom.xml")).stream().filter(line -> !line.isBlank()).count();
+        assertEquals(expected, countLines.apply("pom.xml").longValue());
+        
+        var countBytes = PipeLine
+                .of  (String.class)
+                .then(Paths ::get)
+                .then(FileStages.chunks(256, chunks -> chunks.mapToLong(chunk -> chunk.remaining()).sum()))
+                .thenReturn();
+        assertEquals(Files.size(Paths.get("pom.xml")), countBytes.apply("pom.xml").longValue());
+        
+        // Stopping early is fine too -- the stage closes the file either way.
+        var firstLine = PipeLine
+                .of  (String.class)
+                .then(Paths ::get)
+                .then(FileStages.lines(lines -> lines.findFirst().orElse(null)))
+                .thenReturn();
+        assertEquals(Files.readAllLines(Paths.get("pom.xml")).get(0), firstLine.apply("pom.xml"));
+    }
+    
     static class User implements Pipeable<User> {
         private String name;
         public User(String name) { this.name = name; }
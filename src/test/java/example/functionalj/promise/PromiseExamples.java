@@ -0,0 +1,157 @@
+package example.functionalj.promise;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import functionalj.list.FuncList;
+import functionalj.promise.Promise;
+import functionalj.result.Result;
+
+public class PromiseExamples {
+    
+    private ExecutorService          executor;
+    private ScheduledExecutorService timer;
+    
+    @BeforeEach
+    void setup() {
+        executor = Executors.newCachedThreadPool();
+        timer    = Executors.newSingleThreadScheduledExecutor();
+    }
+    
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+    
+    static Callable<String> load(String name, long delayMillis) {
+        return () -> {
+            Thread.sleep(delayMillis);
+            return name;
+        };
+    }
+    
+    static Callable<String> overlappingLoad(String name, long delayMillis, CountDownLatch started, AtomicInteger overlapped) {
+        return () -> {
+            started.countDown();
+            if (started.await(5, TimeUnit.SECONDS))
+                overlapped.incrementAndGet();
+            Thread.sleep(delayMillis);
+            return name;
+        };
+    }
+    
+    static Callable<String> failedLoad(String message, long delayMillis) {
+        return () -> {
+            Thread.sleep(delayMillis);
+            throw new IllegalStateException(message);
+        };
+    }
+    
+    static <D> Result<D> awaitResult(Promise<D> promise) throws InterruptedException {
+        var result = new Result<?>[1];
+        var latch  = new CountDownLatch(1);
+        promise.onComplete(r -> {
+            result[0] = r;
+            latch.countDown();
+        });
+        latch.await(10, TimeUnit.SECONDS);
+        
+        @SuppressWarnings("unchecked")
+        var theResult = (Result<D>)result[0];
+        return theResult;
+    }
+    
+    @Test
+    void fanOutFanIn() throws InterruptedException {
+        // The loads are run concurrently -- each waits until all of them have started so they can only finish if
+        //   they overlap.
+        var started    = new CountDownLatch(3);
+        var overlapped = new AtomicInteger();
+        var loads = FuncList.of(
+                overlappingLoad("One",   200, started, overlapped),
+                overlappingLoad("Two",   100, started, overlapped),
+                overlappingLoad("Three", 150, started, overlapped));
+        
+        var fanIn  = PromiseFanIn.loadAll(loads, executor, timer, 5, TimeUnit.SECONDS);
+        var result = awaitResult(fanIn.getPromise());
+        
+        // The values are in the order of the loads -- not the order they finished.
+        assertEquals("Result:{ Value: [One, Two, Three] }", result.toString());
+        assertEquals(3, overlapped.get());
+        
+        // Each load is also a promise on its own.
+        assertEquals("Two", awaitResult(fanIn.getPromises().get(1)).get());
+    }
+    
+    @Test
+    void failFast() throws InterruptedException {
+        var interrupted = new AtomicInteger();
+        Callable<String> slowLoad = () -> {
+            try {
+                Thread.sleep(5_000);
+                return "Slow";
+            } catch (InterruptedException exception) {
+                interrupted.incrementAndGet();
+                throw exception;
+            }
+        };
+        var loads = FuncList.of(
+                slowLoad,
+                failedLoad("Not found!", 50),
+                slowLoad);
+        
+        var fanIn  = PromiseFanIn.loadAll(loads, executor, timer, 5, TimeUnit.SECONDS);
+        var result = awaitResult(fanIn.getPromise());
+        
+        // Notice the error is sent in the same channel
+        assertEquals("Result:{ Exception: java.lang.IllegalStateException: Not found! }", result.toString());
+        
+        // ... and the slow loads are not left running.
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        assertEquals(2, interrupted.get());
+    }
+    
+    @Test
+    void timeout() throws InterruptedException {
+        var loads = FuncList.of(
+                load("Fast", 10),
+                load("Slow", 5_000));
+        
+        var fanIn  = PromiseFanIn.loadAll(loads, executor, timer, 100, TimeUnit.MILLISECONDS);
+        var result = awaitResult(fanIn.getPromise());
+        
+        assertEquals("Result:{ Exception: java.util.concurrent.TimeoutException: Timeout after 100 MILLISECONDS }", result.toString());
+        assertEquals("Fast", awaitResult(fanIn.getPromises().get(0)).get());
+    }
+    
+    @Test
+    void cancel() throws InterruptedException {
+        var loads = FuncList.of(
+                load("One", 5_000),
+                load("Two", 5_000));
+        
+        var fanIn = PromiseFanIn.loadAll(loads, executor, timer, 10, TimeUnit.SECONDS);
+        assertTrue(fanIn.cancel());
+        
+        var result = awaitResult(fanIn.getPromise());
+        assertEquals("Result:{ Exception: java.util.concurrent.CancellationException: Cancelled. }", result.toString());
+        
+        // Already settled.
+        assertTrue(!fanIn.cancel());
+    }
+    
+}
@@ -9,6 +9,7 @@ import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.io.MappedWords;
 import functionalj.result.Result;
 
 
@@ -27,6 +28,35 @@ class ResultExamples {
         assertEquals(0L, wordCount.longValue());
     }
     
+    @Test
+    void testMappedWordCount() {
+        // Same chain -- only the file is scanned in place instead of copied onto the heap.
+        var wordCount
+                = MappedWords.wordCount(Paths.get("FileNotFound.txt"))
+                .ifException(Exception::printStackTrace)
+                .orElse     (0L)
+                ;
+        assertEquals(0L, wordCount.longValue());
+        
+        var copied
+                = Result.of(()->Files.readAllBytes(Paths.get("pom.xml")))
+                .map        (String::new)
+                .map        (matches("[a-zA-Z]+"))
+                .map        (Stream::count);
+        var mapped
+                = MappedWords.words(Paths.get("pom.xml"))
+                .map        (Stream::count);
+        assertEquals(copied.toString(), mapped.toString());
+        assertEquals(copied.toString(), MappedWords.wordCount(Paths.get("pom.xml")).toString());
+        
+        // Tiny windows -- most words are split across window boundaries but still count once.
+        for (var windowSize : new long[] { 1, 7 }) {
+            var mappedWords = MappedWords.words(Paths.get("pom.xml"), windowSize).map(Stream::count);
+            assertEquals(copied.toString(), mappedWords.toString(),                                               "Window: " + windowSize);
+            assertEquals(copied.toString(), MappedWords.wordCount(Paths.get("pom.xml"), windowSize).toString(), "Window: " + windowSize);
+        }
+    }
+    
     @Test
     void testValidation() {
         var result1
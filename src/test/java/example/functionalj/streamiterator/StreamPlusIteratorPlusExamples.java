@@ -3,10 +3,25 @@ package example.functionalj.streamiterator;
 import static example.functionalj.streamiterator.StreamPlusIteratorPlusExamples.Hand.Paper;
 import static example.functionalj.streamiterator.StreamPlusIteratorPlusExamples.Hand.Rock;
 import static example.functionalj.streamiterator.StreamPlusIteratorPlusExamples.Hand.Scissors;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.map.PersistentHashMap;
+import functionalj.list.FuncList;
 import functionalj.stream.StreamPlus;
 import functionalj.stream.intstream.IntStreamPlus;
 
@@ -50,4 +65,85 @@ class StreamPlusIteratorPlusExamples {
         assertEquals("[0, 1]",     minorVersion);
     }
     
+    @Test
+    void testParallel() {
+        var numbers  = FuncList.iterate(0, i -> i + 1).limit(1_000_000).toImmutableList();
+        var expected = numbers.filter(i -> i % 3 == 0).map(i -> i * 2).toImmutableList();
+        
+        // Run in our own pool -- the order is kept. The first and the last element each wait for the other, so the
+        //   pipeline only gets past them if two workers run at the same time.
+        var threadNames = ConcurrentHashMap.<String>newKeySet();
+        var bothEnds    = new CountDownLatch(2);
+        var metAtEnds   = new AtomicInteger();
+        var pool        = new ForkJoinPool(4, forkJoinPool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("example-parallel-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            var actual = Parallel.in(pool, () -> 
+                    Parallel.streamOf(numbers)
+                    .filter(i -> i % 3 == 0)
+                    .peek  (i -> threadNames.add(Thread.currentThread().getName()))
+                    .peek  (i -> {
+                        if ((i == 0) || (i == 999_999))
+                            meet(bothEnds, metAtEnds);
+                    })
+                    .map   (i -> i * 2)
+                    .toImmutableList());
+            assertEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+        
+        // Really parallel -- two workers of our pool at once and none of the common one.
+        assertTrue(Parallel.streamOf(numbers).isParallel());
+        assertEquals(2, metAtEnds.get());
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("example-parallel-")), threadNames.toString());
+        
+        // Only a list that cannot change is reported as IMMUTABLE.
+        var mutableList = new ArrayList<Integer>(List.of(1, 2));
+        assertTrue (Parallel.streamOf(numbers)    .spliterator().hasCharacteristics(Spliterator.IMMUTABLE));
+        assertFalse(Parallel.streamOf(mutableList).spliterator().hasCharacteristics(Spliterator.IMMUTABLE));
+        
+        var player1 = FuncList.of(Paper, Paper, Rock);
+        var player2 = FuncList.of(Rock,  Paper, Scissors);
+        assertEquals(
+                "Player1 score: 2",
+                "Player1 score: " + Parallel.zipWith(player1, player2, Hand::play).mapToInt(Integer::intValue).sum());
+    }
+    
+    @Test
+    void testParallelMap() {
+        var persistent = PersistentHashMap.<Integer, Integer>empty();
+        var mutable    = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100_000; i++) {
+            persistent = persistent.with(i, i * 2);
+            mutable.put(i, i * 2);
+        }
+        var expected = 100_000L * 99_999L;
+        
+        // The persistent map splits along its trie -- any other map is copied first.
+        assertEquals(expected, Parallel.streamOf(persistent).mapToLong(entry -> entry.getValue()).sum());
+        assertEquals(expected, Parallel.streamOf(mutable)   .mapToLong(entry -> entry.getValue()).sum());
+        assertTrue(Parallel.streamOf(persistent).isParallel());
+        assertTrue(Parallel.streamOf(persistent).spliterator().hasCharacteristics(Spliterator.IMMUTABLE));
+        
+        // The same entries in the same order as iterating the map.
+        assertEquals(
+                new ArrayList<>(persistent.entrySet()),
+                Parallel.streamOf(persistent).collect(toList()));
+    }
+    
+    /** Count down and wait for the rest -- counting the ones that met. **/
+    private static void meet(CountDownLatch latch, AtomicInteger met) {
+        latch.countDown();
+        try {
+            if (latch.await(5, TimeUnit.SECONDS))
+                met.incrementAndGet();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
 }
@@ -28,9 +28,14 @@ import static example.functionalj.structtype.Personel.eachPersonel;
 import static example.functionalj.structtype.Personel.thePersonel;
 import static functionalj.list.FuncList.listOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
+import example.functionalj.map.IntFuncMap;
+import example.functionalj.map.PersistentHashMap;
 import functionalj.map.FuncMap;
 import functionalj.types.Struct;
 
@@ -80,6 +85,45 @@ class StructLensExamples {
                 .toString());
     }
     
+    @Test
+    void testLensOnPersistentMap() {
+        // A big company -- each change copies only the path to the changed employee.
+        var employees = PersistentHashMap.<Integer, Personel>empty();
+        for (int id = 1; id <= 100_000; id++) {
+            employees = employees.with(id, new Personel(id, "First" + id, "Last" + id, 100_000, true));
+        }
+        
+        var changed = employees.update(2, thePersonel.lastName.changeTo("Skywalker"));
+        assertEquals("Personel[id: 2, firstName: First2, lastName: Skywalker, salary: 100000.0, isOnSite: true]", changed.get(2).toString());
+        assertEquals("Personel[id: 2, firstName: First2, lastName: Last2, salary: 100000.0, isOnSite: true]",     employees.get(2).toString());
+        assertEquals(100_000, changed.size());
+        
+        // The rest is shared not copied.
+        assertSame(employees.get(99_999), changed.get(99_999));
+    }
+    
+    @Test
+    void testLensOnIntMap() {
+        // Keyed by the primitive id -- no Integer per employee.
+        var employees = IntFuncMap.<Personel>newBuilder()
+                .with(2, new Personel(2, "Jane", "Smith", 150_000, false))
+                .with(1, new Personel(1, "John", "Doe",   100_000, true))
+                .build()
+                .sortedByKey();
+        
+        var changed = employees.update(2, thePersonel.lastName.changeTo("Skywalker"));
+        assertEquals(
+                "{"
+                + "1:Personel[id: 1, firstName: John, lastName: Doe, salary: 100000.0, isOnSite: true], "
+                + "2:Personel[id: 2, firstName: Jane, lastName: Skywalker, salary: 150000.0, isOnSite: false]"
+                + "}",
+                changed.toString());
+        assertEquals("{1:Doe, 2:Smith}", employees.mapValue(thePersonel.lastName).toString());
+        
+        // Struct values compare by their fields -- so the maps compare by their entries.
+        assertEquals(employees, changed.update(2, thePersonel.lastName.changeTo("Smith")));
+    }
+    
     @Test
     void testPrimitiveField() {
         assertEquals("[2]", 
@@ -93,5 +137,26 @@ class StructLensExamples {
                 .toImmutableList()
                 .toString());
     }
-
+    
+    @Test
+    void testColumnarPrimitiveField() {
+        // Same query on columns -- each filter scans one primitive column instead of every Personel.
+        var table = ColumnarTable.of(listOf(
+                        new Personel(1, "John", "Doe", 100_000, true),
+                        new Personel(2, "Jane", "Smith", 150_000, false)
+                    ))
+                .intColumn    (thePersonel.id)
+                .doubleColumn (thePersonel.salary)
+                .booleanColumn(thePersonel.isOnSite)
+                .build();
+        assertEquals("[2]", 
+                Arrays.toString(
+                    table
+                    .select          ()
+                    .whereNot        (thePersonel.isOnSite)
+                    .whereGreaterThan(thePersonel.salary, 120_000.0)
+                    .ints            (thePersonel.id)));
+        assertEquals(250_000.0, table.select().sum(thePersonel.salary));
+    }
+    
 }